@@ -0,0 +1,114 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares default (reflective) Jackson serialization with {@link DomainJsonModule}
+ * for single objects and 10k-element lists. Run with {@code -prof gc} to see allocation per op.
+ * <p>
+ * {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final int LIST_SIZE = 10_000;
+
+    @Param({"default", "module"})
+    public String serializers;
+
+    private ObjectWriter writer;
+    private Flight flight;
+    private Booking booking;
+    private List<Flight> flights;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("module".equals(serializers)) {
+            builder.addModule(new DomainJsonModule());
+        }
+        writer = builder.build().writer();
+
+        var base = LocalDateTime.of(2025, 8, 11, 9, 0);
+        flights = new ArrayList<>(LIST_SIZE);
+        bookings = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            var departure = base.plusMinutes(i * 7L);
+            flights.add(new Flight("FL" + i, "WLG", "AKL", departure, departure.plusMinutes(65)));
+            var bookedAt = base.minusDays(3).plusNanos(i * 1_234_567L);
+            bookings.add(new Booking(
+                    "s" + (i % 4) + "-" + i, "FL" + i,
+                    new Passenger("Passenger " + i, "p" + i + "@example.com", "021-" + i),
+                    bookedAt,
+                    i % 10 == 0 ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED,
+                    Booking.INITIAL_VERSION + i % 3,
+                    bookedAt.plusMinutes(i % 3)
+            ));
+        }
+        flight = flights.get(1);
+        booking = bookings.get(1);
+    }
+
+    @Benchmark
+    public long singleFlight() throws IOException {
+        return write(flight);
+    }
+
+    @Benchmark
+    public long singleBooking() throws IOException {
+        return write(booking);
+    }
+
+    @Benchmark
+    public long flightList() throws IOException {
+        return write(flights);
+    }
+
+    @Benchmark
+    public long bookingList() throws IOException {
+        return write(bookings);
+    }
+
+    private long write(Object value) throws IOException {
+        var out = new CountingOutputStream();
+        writer.writeValue(out, value);
+        return out.count;
+    }
+
+    /**
+     * Discards output so only serialization is measured, not buffer growth.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same booking workload against every {@link BookingRepository} backend.
+ * <p>
+ * {@code ./gradlew jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class BookingRepositoryBenchmark {
+
+    private static final int PRELOADED = 10_000;
+    private static final int BATCH = 100;
+    private static final String[] FLIGHTS = {"FL001", "FL002", "FL003"};
+
+    @Param({"memory", "jdbc"})
+    public String backend;
+
+    private BookingRepository repository;
+    private HikariDataSource dataSource;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("jdbc".equals(backend)) {
+            var config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+            config.setMaximumPoolSize(8);
+            dataSource = new HikariDataSource(config);
+            new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(dataSource);
+            repository = new JdbcBookingRepository(new JdbcTemplate(dataSource));
+        } else {
+            repository = new InMemoryBookingRepository();
+        }
+
+        List<Booking> preload = new ArrayList<>(PRELOADED);
+        for (int i = 0; i < PRELOADED; i++) {
+            preload.add(newBooking());
+        }
+        repository.saveAll(preload);
+        ids = preload.stream().map(Booking::id).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource != null) dataSource.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public void save() {
+        repository.save(newBooking());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void saveAllBatched() {
+        List<Booking> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(newBooking());
+        }
+        repository.saveAll(batch);
+    }
+
+    @Benchmark
+    public Object updatePassenger() {
+        var id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return repository.updatePassenger(id, new Passenger("Updated", "updated@example.com", "021-222"));
+    }
+
+    private Booking newBooking() {
+        var flightId = FLIGHTS[ThreadLocalRandom.current().nextInt(FLIGHTS.length)];
+        return new Booking(
+                repository.newId(flightId), flightId,
+                new Passenger("Bench Passenger", "bench@example.com", "021-000"),
+                LocalDateTime.now(),
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                LocalDateTime.now()
+        );
+    }
+}
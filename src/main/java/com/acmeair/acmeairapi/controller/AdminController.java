@@ -0,0 +1,35 @@
+package com.acmeair.acmeairapi.controller;
+
+import com.acmeair.acmeairapi.repository.CachingBookingRepository;
+import com.acmeair.acmeairapi.service.BookingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing operational endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final BookingService bookingService;
+
+    public AdminController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Reports hit/miss/eviction statistics for the booking cache.
+     * Endpoint: /api/admin/cache/bookings
+     *
+     * @return 200 OK with cache statistics, or 404 if the storage backend has no cache.
+     */
+    @GetMapping("/cache/bookings")
+    public ResponseEntity<CachingBookingRepository.Stats> bookingCacheStats() {
+        return bookingService.cacheStats()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
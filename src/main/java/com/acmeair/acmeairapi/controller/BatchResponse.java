@@ -0,0 +1,55 @@
+package com.acmeair.acmeairapi.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Response body for multi-get endpoints ({@code ?ids=a,b,c}).
+ *
+ * @param items   Found items (or their projections), in the order their IDs were requested.
+ * @param missing Requested IDs that don't exist.
+ */
+public record BatchResponse(List<Object> items, List<String> missing) {
+
+    /**
+     * Most IDs a single multi-get may ask for.
+     */
+    static final int MAX_IDS = 100;
+
+    /**
+     * @return Whether the requested ID list is non-empty and within {@link #MAX_IDS}.
+     */
+    static boolean withinBounds(List<String> ids) {
+        return !ids.isEmpty() && ids.size() <= MAX_IDS;
+    }
+
+    /**
+     * Orders the found values by the requested IDs and lists the IDs that weren't found.
+     * Duplicate IDs are answered once.
+     *
+     * @param ids Requested IDs.
+     * @param found Values that were found, in any order.
+     * @param idOf Reads the ID of a value.
+     * @param render Renders a value (the value itself, or a field projection).
+     */
+    static <T> BatchResponse of(List<String> ids, List<T> found, Function<T, String> idOf, Function<T, Object> render) {
+        Map<String, T> byId = new HashMap<>();
+        found.forEach(value -> byId.put(idOf.apply(value), value));
+
+        List<Object> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            var value = byId.get(id);
+            if (value == null) {
+                missing.add(id);
+            } else {
+                items.add(render.apply(value));
+            }
+        }
+        return new BatchResponse(items, missing);
+    }
+}
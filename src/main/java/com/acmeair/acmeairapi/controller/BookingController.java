@@ -2,25 +2,63 @@ package com.acmeair.acmeairapi.controller;
 
 import com.acmeair.acmeairapi.domain.Booking;
 import com.acmeair.acmeairapi.domain.Passenger;
+import com.acmeair.acmeairapi.domain.WaitlistEntry;
+import com.acmeair.acmeairapi.repository.BookingArchivedException;
+import com.acmeair.acmeairapi.repository.BookingRepository;
+import com.acmeair.acmeairapi.repository.BookingVersionConflictException;
 import com.acmeair.acmeairapi.service.BookingService;
+import com.acmeair.acmeairapi.service.FlightFullException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 
 import java.net.URI;
+import java.util.List;
 
 /**
  * REST controller exposing booking-related endpoints.
+ * <p>
+ * Booking responses carry the booking version as a strong {@code ETag}. Sending it back in
+ * {@code If-Match} on an update or cancel makes the write conditional: if the booking has
+ * changed in the meantime the request fails with 412 Precondition Failed.
  */
 @RestController
 @RequestMapping("/api/bookings")
 @Validated
 public class BookingController {
 
+    /**
+     * Version no booking ever has; used for {@code If-Match} values that can't match.
+     */
+    private static final long NO_MATCH = 0;
+
+    /**
+     * Most bookings one name search returns.
+     */
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Fields selectable with {@code fields=} on multi-get.
+     */
+    private static final FieldProjection<Booking> BOOKING_FIELDS = new FieldProjection<Booking>()
+            .field("id", Booking::id)
+            .field("flightId", Booking::flightId)
+            .field("passenger", Booking::passenger)
+            .field("bookedAt", Booking::bookedAt)
+            .field("status", Booking::status)
+            .field("version", Booking::version)
+            .field("updatedAt", Booking::updatedAt);
+
     private final BookingService service;
 
     public BookingController(BookingService service) {
@@ -78,18 +116,82 @@ public class BookingController {
      * Endpoint: /api/bookings
      *
      * @param request CreateBookingRequest containing flight ID and passenger info.
-     * @return 201 Created with booking details or 404 if flight not found.
+     * @return 201 Created with booking details, 404 if flight not found or 409 if the flight is full.
      */
     @PostMapping
     public ResponseEntity<Booking> createBooking(@RequestBody @Valid CreateBookingRequest request) {
         return service.createBooking(request.flightId(), request.passenger().toModel())
                 .map(created -> {
                     var location = URI.create("/api/bookings/" + created.id());
-                    return ResponseEntity.created(location).body(created);
+                    return ResponseEntity.created(location).eTag(etag(created)).body(created);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build()); // flightId not found
     }
 
+    /**
+     * Joins the waitlist for a full flight. When a seat is released the passenger is booked
+     * automatically, in the order they joined.
+     * Method: POST
+     * Endpoint: /api/bookings/waitlist
+     *
+     * @param request CreateBookingRequest containing flight ID and passenger info.
+     * @return 202 Accepted with the waitlist entry or 404 if flight not found.
+     */
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@RequestBody @Valid CreateBookingRequest request) {
+        return service.joinWaitlist(request.flightId(), request.passenger().toModel())
+                .map(entry -> ResponseEntity.status(HttpStatus.ACCEPTED).body(entry))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Leaves a flight's waitlist.
+     * Method: DELETE
+     * Endpoint: /api/bookings/waitlist/{flightId}/{entryId}
+     *
+     * @param flightId Flight the passenger is waiting for.
+     * @param entryId  Waitlist entry ID returned when joining.
+     * @return 204 No Content, or 404 if the entry isn't waiting (already promoted, dropped or unknown).
+     */
+    @DeleteMapping("/waitlist/{flightId}/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable String flightId, @PathVariable String entryId) {
+        return service.leaveWaitlist(flightId, entryId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Seats available and waitlist length for a flight.
+     * Endpoint: /api/bookings/waitlist/{flightId}
+     *
+     * @param flightId Flight identifier.
+     * @return 200 OK with the waitlist status or 404 if flight not found.
+     */
+    @GetMapping("/waitlist/{flightId}")
+    public ResponseEntity<BookingService.WaitlistStatus> waitlistStatus(@PathVariable String flightId) {
+        return service.waitlistStatus(flightId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Finds bookings by partial passenger name, e.g. for call-centre lookups.
+     * Endpoint: /api/bookings/search?name=smi&flightId=FL001&limit=20
+     *
+     * @param name Start of any words of the passenger name ("smi", "j smi"), ignoring case and accents.
+     * @param flightId Optional flight to search within.
+     * @param limit Max bookings to return (1-100, default 20).
+     * @return 200 OK with the matching bookings ordered by name, or 400 for a blank name or a limit out of range.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Booking>> searchByPassengerName(
+            @RequestParam @NotBlank String name,
+            @RequestParam(required = false) String flightId,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SEARCH_RESULTS) int limit
+    ) {
+        return ResponseEntity.ok(service.searchByPassengerName(name, flightId, limit));
+    }
+
     /**
      * Retrieves a booking by ID.
      *
@@ -99,26 +201,48 @@ public class BookingController {
     @GetMapping("/{id}")
     public ResponseEntity<Booking> getBooking(@PathVariable String id) {
         return service.findById(id)
-                .map(ResponseEntity::ok)
+                .map(BookingController::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves several bookings in one request.
+     * Endpoint: /api/bookings?ids=a,b,c&fields=id,status
+     *
+     * @param ids Booking identifiers (at most 100).
+     * @param fields Optional comma-separated list of fields to return for each booking.
+     * @return 200 OK with the bookings found (in request order) and the IDs that weren't,
+     *         or 400 for too many IDs or an unknown field.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse> getBookings(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) String fields
+    ) {
+        if (!BatchResponse.withinBounds(ids)) return ResponseEntity.badRequest().build();
+        return BOOKING_FIELDS.select(fields)
+                .map(render -> ResponseEntity.ok(BatchResponse.of(ids, service.findAllById(ids), Booking::id, render)))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
     /**
      * Updates the passenger info for an existing booking.
      * Method: PUT
      * Endpoint: /api/bookings/{id}/passenger
      *
      * @param id Booking identifier.
+     * @param ifMatch Optional ETag of the booking version the client is updating.
      * @param request Passenger update payload.
-     * @return 200 OK with updated booking or 404 if not found.
+     * @return 200 OK with updated booking, 404 if not found, 409 if archived or 412 if {@code If-Match} is stale.
      */
     @PutMapping("/{id}/passenger")
     public ResponseEntity<Booking> updatePassenger(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdatePassengerRequest request
     ) {
-        return service.updatePassenger(id, request.passenger().toModel())
-                .map(ResponseEntity::ok)
+        return service.updatePassenger(id, request.passenger().toModel(), expectedVersion(ifMatch))
+                .map(BookingController::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -128,12 +252,92 @@ public class BookingController {
      * Endpoint: /api/bookings/{id}/cancel
      *
      * @param id Booking identifier.
-     * @return 200 OK with cancelled booking or 404 if not found.
+     * @param ifMatch Optional ETag of the booking version the client is cancelling.
+     * @return 200 OK with cancelled booking, 404 if not found, 409 if archived or 412 if {@code If-Match} is stale.
      */
     @PostMapping("/{id}/cancel")
-    public ResponseEntity<Booking> cancel(@PathVariable String id) {
-        return service.cancel(id)
-                .map(ResponseEntity::ok) // 200 OK with the cancelled (or already-cancelled) booking
+    public ResponseEntity<Booking> cancel(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return service.cancel(id, expectedVersion(ifMatch))
+                .map(BookingController::ok) // 200 OK with the cancelled (or already-cancelled) booking
                 .orElseGet(() -> ResponseEntity.notFound().build()); // 404 if booking doesn't exist
     }
+
+    /**
+     * A conditional write lost to a concurrent change.
+     *
+     * @return 412 Precondition Failed with the current booking and its ETag, so the client can retry.
+     */
+    @ExceptionHandler(BookingVersionConflictException.class)
+    public ResponseEntity<Booking> versionConflict(BookingVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(etag(e.current()))
+                .body(e.current());
+    }
+
+    /**
+     * The booking has been moved to the archive and is read-only.
+     *
+     * @return 409 Conflict with the archived booking.
+     */
+    @ExceptionHandler(BookingArchivedException.class)
+    public ResponseEntity<Booking> archived(BookingArchivedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(etag(e.archived()))
+                .body(e.archived());
+    }
+
+    /**
+     * No seat is free on the flight.
+     *
+     * @return 409 Conflict pointing the client at the waitlist.
+     */
+    @ExceptionHandler(FlightFullException.class)
+    public ResponseEntity<ProblemDetail> flightFull(FlightFullException e) {
+        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setProperty("flightId", e.flightId());
+        problem.setProperty("waitlist", "/api/bookings/waitlist");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    /**
+     * A request parameter failed its constraint, e.g. a blank search name or a limit out of range.
+     * The class-level {@link Validated} reports these as a {@link ConstraintViolationException}, which would be a 500.
+     *
+     * @return 400 Bad Request describing the violations.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ProblemDetail> invalidParameter(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    private static ResponseEntity<Booking> ok(Booking booking) {
+        return ResponseEntity.ok().eTag(etag(booking)).body(booking);
+    }
+
+    private static String etag(Booking booking) {
+        return "\"" + booking.version() + "\"";
+    }
+
+    /**
+     * Maps an {@code If-Match} header onto the version the client expects.
+     * No header or {@code *} means unconditional; an ETag we didn't issue can never match.
+     */
+    static long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return BookingRepository.ANY_VERSION;
+        }
+        var tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_MATCH; // weak or malformed tags never match for If-Match (RFC 9110 strong comparison)
+        }
+        try {
+            long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+            return version >= Booking.INITIAL_VERSION ? version : NO_MATCH;
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.acmeair.acmeairapi.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Sparse fieldsets for API responses ({@code fields=id,status}).
+ * <p>
+ * Callers that only need a few fields get a map with just those entries, in the order they
+ * asked for them, so nested objects and timestamps they don't need are never serialized.
+ *
+ * @param <T> Type being projected.
+ */
+final class FieldProjection<T> {
+
+    private final Map<String, Function<T, Object>> accessors = new LinkedHashMap<>();
+
+    /**
+     * Registers a field that can be selected.
+     *
+     * @param name JSON property name.
+     * @param accessor Reads the property from the value.
+     * @return This projection.
+     */
+    FieldProjection<T> field(String name, Function<T, Object> accessor) {
+        accessors.put(name, accessor);
+        return this;
+    }
+
+    /**
+     * Resolves a {@code fields} parameter into a function that renders a value.
+     *
+     * @param fields Comma-separated field names, or {@code null}/blank for the whole object.
+     * @return Renderer for the selection, or empty if a field name is unknown.
+     */
+    Optional<Function<T, Object>> select(String fields) {
+        if (fields == null || fields.isBlank()) return Optional.of(value -> value);
+
+        Map<String, Function<T, Object>> selected = new LinkedHashMap<>();
+        for (String raw : fields.split(",")) {
+            var name = raw.trim();
+            if (name.isEmpty()) continue;
+            var accessor = accessors.get(name);
+            if (accessor == null) return Optional.empty();
+            selected.put(name, accessor);
+        }
+        if (selected.isEmpty()) return Optional.of(value -> value);
+
+        return Optional.of(value -> {
+            Map<String, Object> projected = new LinkedHashMap<>(selected.size() * 2);
+            selected.forEach((name, accessor) -> projected.put(name, accessor.apply(value)));
+            return projected;
+        });
+    }
+}
@@ -2,7 +2,12 @@ package com.acmeair.acmeairapi.controller;
 
 import com.acmeair.acmeairapi.domain.Flight;
 import com.acmeair.acmeairapi.service.FlightService;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -17,10 +22,22 @@ import java.util.List;
 @Validated
 public class FlightController {
 
+    /**
+     * Fields selectable with {@code fields=} on multi-get.
+     */
+    private static final FieldProjection<Flight> FLIGHT_FIELDS = new FieldProjection<Flight>()
+            .field("id", Flight::id)
+            .field("origin", Flight::origin)
+            .field("destination", Flight::destination)
+            .field("departureTime", Flight::departureTime)
+            .field("arrivalTime", Flight::arrivalTime);
+
     private final FlightService service;
+    private final FlightPayloadCache payloads;
 
-    public FlightController(FlightService service) {
+    public FlightController(FlightService service, FlightPayloadCache payloads) {
         this.service = service;
+        this.payloads = payloads;
     }
 
     /**
@@ -29,18 +46,23 @@ public class FlightController {
      *
      * @param origin       IATA code of the departure airport (e.g. "WLG").
      * @param destination  IATA code of the destination airport (e.g. "AKL").
+     * @param acceptEncoding Served gzip-compressed from the precompressed cache when this allows it.
      * @return 200 OK response containing a list of matching flights, otherwise 404 Not Found
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Flight>> searchFlights(
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = Flight.class))))
+    @ApiResponse(responseCode = "404", content = @Content)
+    public ResponseEntity<?> searchFlights(
             @RequestParam @NotBlank String origin,
-            @RequestParam @NotBlank String destination
+            @RequestParam @NotBlank String destination,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        var results = service.searchFlights(origin, destination);
-        if (results.isEmpty()) {
+        var results = payloads.route(origin, destination);
+        if (results.empty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(results);
+        return results.toResponse(acceptEncoding);
     }
 
     /**
@@ -57,9 +79,40 @@ public class FlightController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Handles HTTP GET requests to fetch several flights in one request.
+     * Endpoint: /api/flights?ids=FL001,FL002&fields=id,departureTime
+     *
+     * @param ids Flight identifiers (at most 100).
+     * @param fields Optional comma-separated list of fields to return for each flight.
+     * @return 200 OK with the flights found (in request order) and the IDs that weren't,
+     *         or 400 for too many IDs or an unknown field.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponse> getFlightsById(
+            @RequestParam List<String> ids,
+            @RequestParam(required = false) String fields
+    ) {
+        if (!BatchResponse.withinBounds(ids)) return ResponseEntity.badRequest().build();
+        return FLIGHT_FIELDS.select(fields)
+                .map(render -> ResponseEntity.ok(BatchResponse.of(ids, service.getFlightsById(ids), Flight::id, render)))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * Handles HTTP GET requests for the whole timetable.
+     * Endpoint: /api/flights
+     *
+     * @param acceptEncoding Served gzip-compressed from the precompressed cache when this allows it.
+     * @return 200 OK with all flights.
+     */
     @GetMapping
-    public List<Flight> getAllFlights() {
-        return service.getAllFlights();
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = Flight.class))))
+    public ResponseEntity<?> getAllFlights(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return payloads.allFlights().toResponse(acceptEncoding);
     }
 }
 
@@ -0,0 +1,219 @@
+package com.acmeair.acmeairapi.controller;
+
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.service.FlightService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized and gzip-compressed flight listings, built once per timetable version.
+ * <p>
+ * The full timetable and route search results are rendered to JSON and compressed at the best
+ * compression level the first time they are requested. Later requests are served from those bytes
+ * until {@link FlightService#timetableVersion()} changes. The cache is bounded by
+ * {@code acmeair.flights.precompressed.max-size}. W-TinyLFU eviction keeps the popular routes, and
+ * entries for old timetable versions are never read again, so they age out.
+ * <p>
+ * A listing that couldn't fit in the cache at all (such as the full timetable of a large schedule) is not
+ * precompressed: it is written per request by the regular message converter and compressed by
+ * {@code server.compression} at its default level, as it would be without this cache.
+ */
+@Component
+public class FlightPayloadCache {
+
+    private static final String ALL_FLIGHTS = "*";
+
+    /**
+     * Fewer JSON bytes than any flight takes (its field names and two timestamps alone are longer),
+     * so a listing of more than {@code maxBytes / MIN_FLIGHT_JSON_BYTES} flights can't fit.
+     */
+    static final int MIN_FLIGHT_JSON_BYTES = 80;
+
+    private final FlightService flights;
+    private final ObjectMapper mapper;
+    private final long maxBytes;
+    private final Cache<Key, Payload> cache;
+
+    /**
+     * Listings found too large to cache, so they aren't encoded again; only the current timetable version's are kept.
+     */
+    private final Set<Key> uncacheable = ConcurrentHashMap.newKeySet();
+
+    private record Key(long version, String route) {}
+
+    /**
+     * One listing, either precompressed in both encodings or as the flights to write per request.
+     *
+     * @param json    Identity-encoded JSON, or {@code null} if not precompressed.
+     * @param gzip    The same JSON, gzip-compressed, or {@code null} if not precompressed.
+     * @param flights The flights, for a listing too large to precompress; otherwise {@code null}.
+     * @param etag    Weak ETag for the timetable version (every encoding carries the same content).
+     * @param count   Number of flights in the listing.
+     */
+    record Payload(byte[] json, byte[] gzip, List<Flight> flights, String etag, int count) {
+
+        boolean empty() {
+            return count == 0;
+        }
+
+        boolean precompressed() {
+            return flights == null;
+        }
+
+        /**
+         * @return 200 OK with the gzip bytes if the client accepts gzip, otherwise the plain JSON;
+         *         or the flights themselves if the listing isn't precompressed.
+         */
+        ResponseEntity<?> toResponse(String acceptEncoding) {
+            var response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag);
+            if (!precompressed()) {
+                return response.body(flights); // server.compression applies, and sets Vary itself
+            }
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+    }
+
+    public FlightPayloadCache(
+            FlightService flights,
+            ObjectMapper mapper,
+            @Value("${acmeair.flights.precompressed.max-size:16MB}") DataSize maxSize
+    ) {
+        this.flights = flights;
+        this.mapper = mapper;
+        this.maxBytes = maxSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, Payload>weigher((key, payload) -> weight(payload))
+                .build();
+    }
+
+    /**
+     * @return The whole timetable.
+     */
+    Payload allFlights() {
+        return get(ALL_FLIGHTS, flights::getAllFlights);
+    }
+
+    /**
+     * Recorded as a flight search event whether or not the listing was cached.
+     *
+     * @return Flights on a route (case-insensitive), sorted by departure time.
+     */
+    Payload route(String origin, String destination) {
+        var route = origin.toUpperCase(Locale.ROOT) + '>' + destination.toUpperCase(Locale.ROOT);
+        return flights.recordSearch(origin, destination,
+                () -> get(route, () -> flights.findRoute(origin, destination)), Payload::count);
+    }
+
+    private Payload get(String route, Supplier<List<Flight>> listing) {
+        // read the version first: a swap in between caches newer content under the older key, never the reverse
+        var key = new Key(flights.timetableVersion(), route);
+        if (!uncacheable.contains(key)) {
+            var payload = cache.get(key, k -> precompress(k, listing.get()));
+            if (payload != null) return payload;
+        }
+        var found = listing.get();
+        return new Payload(null, null, found, etag(key), found.size());
+    }
+
+    /**
+     * @return The encoded listing, or {@code null} (nothing cached) if it is too large for the cache.
+     */
+    private Payload precompress(Key key, List<Flight> listing) {
+        if ((long) listing.size() * MIN_FLIGHT_JSON_BYTES > maxBytes) {
+            return tooLarge(key);
+        }
+        var payload = encode(key, listing);
+        return weight(payload) > maxBytes ? tooLarge(key) : payload;
+    }
+
+    private Payload tooLarge(Key key) {
+        uncacheable.removeIf(old -> old.version() < key.version());
+        uncacheable.add(key);
+        return null;
+    }
+
+    private static int weight(Payload payload) {
+        return 64 + payload.json().length + payload.gzip().length;
+    }
+
+    private static String etag(Key key) {
+        return "W/\"flights-" + key.version() + "\"";
+    }
+
+    private Payload encode(Key key, List<Flight> listing) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(listing);
+            var compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (OutputStream gzip = new BestGzipOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Payload(json, compressed.toByteArray(), null, etag(key), listing.size());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize flights", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip ({@code gzip} or {@code *} without {@code q=0}).
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            var parts = coding.split(";");
+            var name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) continue;
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                var param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (quality > 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compressed once per timetable version, so spend the CPU on the smallest output.
+     */
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
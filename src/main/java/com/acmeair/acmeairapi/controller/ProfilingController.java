@@ -0,0 +1,94 @@
+package com.acmeair.acmeairapi.controller;
+
+import com.acmeair.acmeairapi.service.FlightRecorderService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * REST controller for on-demand JFR recordings.
+ * <p>
+ * Only registered when {@code acmeair.profiling.enabled=true}. The endpoints have no authentication of their
+ * own, so enable them only where the API port is reachable by operators alone.
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+@ConditionalOnProperty(name = "acmeair.profiling.enabled", havingValue = "true")
+public class ProfilingController {
+
+    private final FlightRecorderService flightRecorder;
+
+    public ProfilingController(FlightRecorderService flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * Starts a bounded JFR recording with the booking and flight search events enabled.
+     * Endpoint: /api/admin/profiling/start?duration=PT1M
+     *
+     * @param duration How long to record (ISO-8601); capped at {@code acmeair.profiling.max-duration}.
+     * @return 201 Created with the recording, or 409 if one is already in progress.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<FlightRecorderService.RecordingInfo> startRecording(
+            @RequestParam(required = false) Duration duration
+    ) {
+        return flightRecorder.start(duration)
+                .map(info -> ResponseEntity.status(HttpStatus.CREATED).body(info))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Reports the current recording, which stays here until it is collected with stop.
+     * Endpoint: /api/admin/profiling
+     *
+     * @return 200 OK with the recording, or 404 if none was started.
+     */
+    @GetMapping
+    public ResponseEntity<FlightRecorderService.RecordingInfo> currentRecording() {
+        return flightRecorder.current()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stops the recording and streams it back as a {@code .jfr} file (open with JDK Mission Control
+     * or {@code jfr print}).
+     * Endpoint: /api/admin/profiling/stop
+     *
+     * @return 200 OK with the recording, or 404 if none was started.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() {
+        return flightRecorder.stop()
+                .map(ProfilingController::download)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(Path file) {
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("acmeair.jfr").build().toString())
+                .body(body);
+    }
+}
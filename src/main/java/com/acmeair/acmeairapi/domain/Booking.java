@@ -10,11 +10,35 @@ import java.time.LocalDateTime;
  * @param passenger Passenger details.
  * @param bookedAt  Timestamp when booking was created.
  * @param status    Current booking status.
+ * @param version   Incremented on every change; used for optimistic concurrency (exposed as the ETag).
+ * @param updatedAt Timestamp of the last change (equal to {@code bookedAt} until the booking is modified).
  */
 public record Booking(
         String id,
         String flightId,
         Passenger passenger,
         LocalDateTime bookedAt,
-        BookingStatus status
-) {}
+        BookingStatus status,
+        long version,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Version assigned to a newly created booking.
+     */
+    public static final long INITIAL_VERSION = 1;
+
+    /**
+     * @return Copy of this booking with the given passenger and the next version.
+     */
+    public Booking withPassenger(Passenger newPassenger) {
+        return new Booking(id, flightId, newPassenger, bookedAt, status, version + 1, LocalDateTime.now());
+    }
+
+    /**
+     * @return Copy of this booking with the given status and the next version.
+     */
+    public Booking withStatus(BookingStatus newStatus) {
+        return new Booking(id, flightId, passenger, bookedAt, newStatus, version + 1, LocalDateTime.now());
+    }
+}
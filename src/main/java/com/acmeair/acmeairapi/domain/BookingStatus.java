@@ -5,5 +5,10 @@ package com.acmeair.acmeairapi.domain;
  */
 public enum BookingStatus {
     CONFIRMED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED,
+    /**
+     * Passenger was on the flight's waitlist. Bookings are never stored in this state; it is the
+     * previous status reported when a waitlisted passenger is promoted to {@link #CONFIRMED}.
+     */
+    WAITLISTED
+}
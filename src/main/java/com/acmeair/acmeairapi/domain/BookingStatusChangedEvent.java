@@ -0,0 +1,13 @@
+package com.acmeair.acmeairapi.domain;
+
+/**
+ * Published whenever a booking changes status: a cancellation, or a waitlisted passenger
+ * being promoted to a confirmed booking.
+ *
+ * @param booking        Booking in its new state.
+ * @param previousStatus Status before the change ({@link BookingStatus#WAITLISTED} for promotions).
+ */
+public record BookingStatusChangedEvent(
+        Booking booking,
+        BookingStatus previousStatus
+) {}
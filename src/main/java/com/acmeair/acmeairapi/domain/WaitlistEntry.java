@@ -0,0 +1,18 @@
+package com.acmeair.acmeairapi.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A passenger waiting for a seat on a full flight.
+ *
+ * @param id        Unique waitlist entry identifier.
+ * @param flightId  ID of the flight being waited on.
+ * @param passenger Passenger details, used for the booking once a seat frees up.
+ * @param joinedAt  Timestamp the passenger joined the waitlist.
+ */
+public record WaitlistEntry(
+        String id,
+        String flightId,
+        Passenger passenger,
+        LocalDateTime joinedAt
+) {}
@@ -0,0 +1,56 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Booking} field by field, in record component order. The nested passenger is
+ * written inline rather than through a serializer lookup.
+ */
+final class BookingSerializer extends StdSerializer<Booking> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FLIGHT_ID = new SerializedString("flightId");
+    private static final SerializedString PASSENGER = new SerializedString("passenger");
+    private static final SerializedString BOOKED_AT = new SerializedString("bookedAt");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    BookingSerializer() {
+        super(Booking.class);
+    }
+
+    @Override
+    public void serialize(Booking booking, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(booking);
+        gen.writeFieldName(ID);
+        gen.writeString(booking.id());
+        gen.writeFieldName(FLIGHT_ID);
+        gen.writeString(booking.flightId());
+        gen.writeFieldName(PASSENGER);
+        if (booking.passenger() == null) {
+            gen.writeNull();
+        } else {
+            PassengerSerializer.INSTANCE.serialize(booking.passenger(), gen, provider);
+        }
+        gen.writeFieldName(BOOKED_AT);
+        JsonTimestamps.write(gen, booking.bookedAt());
+        gen.writeFieldName(STATUS);
+        if (booking.status() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(booking.status().name());
+        }
+        gen.writeFieldName(VERSION);
+        gen.writeNumber(booking.version());
+        gen.writeFieldName(UPDATED_AT);
+        JsonTimestamps.write(gen, booking.updatedAt());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,27 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with hand-written serializers for the domain records returned by the API.
+ * <p>
+ * Default Jackson serializes records through reflective property access and formats every
+ * {@code LocalDateTime} into a new {@code String}. These serializers write straight to the
+ * generator with pre-encoded field names and format timestamps into a reused buffer. The JSON
+ * they produce is identical to the default output. Spring Boot registers every {@code Module}
+ * bean with its {@code ObjectMapper}.
+ */
+@Component
+public class DomainJsonModule extends SimpleModule {
+
+    public DomainJsonModule() {
+        super("acmeair-domain");
+        addSerializer(Flight.class, new FlightSerializer());
+        addSerializer(Booking.class, new BookingSerializer());
+        addSerializer(Passenger.class, PassengerSerializer.INSTANCE);
+    }
+}
@@ -0,0 +1,41 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Flight;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Flight} field by field, in record component order.
+ */
+final class FlightSerializer extends StdSerializer<Flight> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ORIGIN = new SerializedString("origin");
+    private static final SerializedString DESTINATION = new SerializedString("destination");
+    private static final SerializedString DEPARTURE_TIME = new SerializedString("departureTime");
+    private static final SerializedString ARRIVAL_TIME = new SerializedString("arrivalTime");
+
+    FlightSerializer() {
+        super(Flight.class);
+    }
+
+    @Override
+    public void serialize(Flight flight, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(flight);
+        gen.writeFieldName(ID);
+        gen.writeString(flight.id());
+        gen.writeFieldName(ORIGIN);
+        gen.writeString(flight.origin());
+        gen.writeFieldName(DESTINATION);
+        gen.writeString(flight.destination());
+        gen.writeFieldName(DEPARTURE_TIME);
+        JsonTimestamps.write(gen, flight.departureTime());
+        gen.writeFieldName(ARRIVAL_TIME);
+        JsonTimestamps.write(gen, flight.arrivalTime());
+        gen.writeEndObject();
+    }
+}
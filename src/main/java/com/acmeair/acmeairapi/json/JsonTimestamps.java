@@ -0,0 +1,70 @@
+package com.acmeair.acmeairapi.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link LocalDateTime} values in the same text form as Jackson's default
+ * ({@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always present, fraction only when
+ * non-zero and without trailing zeros), without building an intermediate {@code String}.
+ */
+final class JsonTimestamps {
+
+    /**
+     * Longest output for years 0000-9999: {@code yyyy-MM-ddTHH:mm:ss.nnnnnnnnn}.
+     */
+    private static final int MAX_LENGTH = 29;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private JsonTimestamps() {}
+
+    static void write(JsonGenerator gen, LocalDateTime time) throws IOException {
+        if (time == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = time.getYear();
+        if (year < 0 || year > 9999) {
+            // signed and 5+ digit years are rare enough to take the formatter
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+            return;
+        }
+
+        char[] buf = BUFFER.get();
+        int pos = digits(buf, 0, year, 4);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, time.getMonthValue(), 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, time.getDayOfMonth(), 2);
+        buf[pos++] = 'T';
+        pos = digits(buf, pos, time.getHour(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, time.getMinute(), 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, time.getSecond(), 2);
+
+        int nano = time.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buf[pos++] = '.';
+            pos = digits(buf, pos, nano, width);
+        }
+        gen.writeString(buf, 0, pos);
+    }
+
+    private static int digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
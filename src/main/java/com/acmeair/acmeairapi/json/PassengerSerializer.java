@@ -0,0 +1,37 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Passenger} field by field, in record component order.
+ */
+final class PassengerSerializer extends StdSerializer<Passenger> {
+
+    static final PassengerSerializer INSTANCE = new PassengerSerializer();
+
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString PHONE = new SerializedString("phone");
+
+    private PassengerSerializer() {
+        super(Passenger.class);
+    }
+
+    @Override
+    public void serialize(Passenger passenger, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(passenger);
+        gen.writeFieldName(NAME);
+        gen.writeString(passenger.name());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(passenger.email());
+        gen.writeFieldName(PHONE);
+        gen.writeString(passenger.phone());
+        gen.writeEndObject();
+    }
+}
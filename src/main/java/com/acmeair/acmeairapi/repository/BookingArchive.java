@@ -0,0 +1,532 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold tier for bookings evicted from memory: an append-only, compressed on-disk store
+ * that can still be looked up by booking ID.
+ * <p>
+ * Bookings are spread over {@link #BUCKETS} files by hashing their ID. Each archive call appends
+ * one deflate-compressed block per bucket it touches
+ * ({@code [int compressedLength][int rawLength][int filterWords][long[] filter][bytes]}).
+ * The filter is a Bloom filter over the IDs in the block (about 10 bits per booking, under 1% false positives).
+ * A lookup inflates just the blocks whose filter may hold the ID and keeps the highest version it finds, so a
+ * miss usually reads nothing from disk.
+ * <p>
+ * The heap holds each block's position and filter, so it still grows with the archive, by about 1.25 bytes
+ * per archived booking plus a small fixed cost per block. To keep blocks few, an append that leaves a bucket's
+ * last block no smaller than the one before merges the two (and so on back), keeping only the latest version
+ * of each booking, as long as the result stays under {@link #MAX_BLOCK_BYTES} uncompressed. Merges only ever
+ * rewrite the end of a file, so a bucket holds about log2 of its size in blocks plus one per
+ * {@code MAX_BLOCK_BYTES}, and each booking is rewritten a few times at most. A merge is written to a side
+ * file first, so a crash part-way through is completed when the archive is next opened.
+ * <p>
+ * An archive belongs to one in-memory store: the hot tier doesn't survive a restart, so neither should its archive.
+ * {@link #temporary()} creates one in a fresh directory that {@link #close()} deletes.
+ */
+public class BookingArchive implements AutoCloseable {
+
+    static final int BUCKETS = 64;
+
+    private static final int FILTER_BITS_PER_ID = 10;
+    private static final int FILTER_PROBES = 7;
+    private static final int HEADER_BYTES = Integer.BYTES * 3;
+
+    /**
+     * Largest uncompressed block merging produces, so a hit never inflates more than this.
+     */
+    static final int MAX_BLOCK_BYTES = 4 << 20;
+
+    /**
+     * Where a block's compressed bytes start, and its ID filter.
+     */
+    private record Block(long position, int compressedLength, int rawLength, long[] filter) {
+
+        /**
+         * @return Where the block's header starts.
+         */
+        long start() {
+            return position - HEADER_BYTES - (long) filter.length * Long.BYTES;
+        }
+    }
+
+    /**
+     * A block serialized for writing.
+     */
+    private record Encoded(ByteBuffer bytes, int compressedLength, int rawLength, long[] filter) {
+
+        Block at(long start) {
+            return new Block(start + bytes.limit() - compressedLength, compressedLength, rawLength, filter);
+        }
+    }
+
+    private final Path directory;
+    private final boolean temporary;
+    private final ReadWriteLock[] locks = new ReadWriteLock[BUCKETS];
+    /** Blocks of each bucket, in file order; guarded by the bucket's lock. */
+    private final List<List<Block>> blocks = new ArrayList<>(BUCKETS);
+    private final LongAdder blocksInflated = new LongAdder();
+
+    public BookingArchive(Path directory) {
+        this(directory, false);
+    }
+
+    private BookingArchive(Path directory, boolean temporary) {
+        this.directory = directory;
+        this.temporary = temporary;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't create booking archive at " + directory, e);
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+            finishMerge(i);
+            blocks.add(loadBlocks(bucketFile(i)));
+        }
+    }
+
+    /**
+     * @return An archive in a new temporary directory, deleted with its contents on {@link #close()}.
+     */
+    public static BookingArchive temporary() {
+        try {
+            return new BookingArchive(Files.createTempDirectory("acmeair-archive-"), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't create a temporary booking archive", e);
+        }
+    }
+
+    /**
+     * @return Directory holding the bucket files.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Appends bookings to the archive. Once this returns they are durable on disk and
+     * visible to {@link #findById(String)}.
+     *
+     * @param bookings Bookings to archive.
+     */
+    public void archive(Collection<Booking> bookings) {
+        @SuppressWarnings("unchecked")
+        List<Booking>[] byBucket = new List[BUCKETS];
+        for (Booking booking : bookings) {
+            int bucket = bucket(booking.id());
+            if (byBucket[bucket] == null) byBucket[bucket] = new ArrayList<>();
+            byBucket[bucket].add(booking);
+        }
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (byBucket[bucket] != null) appendBlock(bucket, byBucket[bucket]);
+        }
+    }
+
+    /**
+     * Looks up an archived booking.
+     *
+     * @param id Booking identifier.
+     * @return Optional booking (the most recent archived version) if archived.
+     */
+    public Optional<Booking> findById(String id) {
+        int bucket = bucket(id);
+        long key = filterKey(id);
+        var file = bucketFile(bucket);
+        var lock = locks[bucket].readLock();
+        lock.lock();
+        try {
+            var candidates = blocks.get(bucket).stream().filter(block -> mightContain(block.filter(), key)).toList();
+            if (candidates.isEmpty()) return Optional.empty();
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Booking found = null;
+                for (Block block : candidates) {
+                    blocksInflated.increment();
+                    for (Booking booking : read(channel, block)) {
+                        if (booking.id().equals(id) && (found == null || booking.version() >= found.version())) {
+                            found = booking;
+                        }
+                    }
+                }
+                return Optional.ofNullable(found);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read booking archive " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a {@linkplain #temporary() temporary} archive. Archives in a given directory are left on disk.
+     */
+    @Override
+    public void close() {
+        if (!temporary) return;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            var lock = locks[bucket].writeLock();
+            lock.lock();
+            try {
+                Files.deleteIfExists(bucketFile(bucket));
+                Files.deleteIfExists(mergeFile(bucket));
+                blocks.get(bucket).clear();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't delete booking archive " + bucketFile(bucket), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't delete booking archive " + directory, e);
+        }
+    }
+
+    /**
+     * @return Blocks inflated by lookups so far (for tests).
+     */
+    long blocksInflated() {
+        return blocksInflated.sum();
+    }
+
+    /**
+     * @return Blocks across all buckets (for tests).
+     */
+    int blockCount() {
+        int count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            var lock = locks[bucket].readLock();
+            lock.lock();
+            try {
+                count += blocks.get(bucket).size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return count;
+    }
+
+    private void appendBlock(int bucket, List<Booking> bookings) {
+        var encoded = encodeBlock(bookings);
+        var file = bucketFile(bucket);
+        var lock = locks[bucket].writeLock();
+        lock.lock();
+        try (var channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var bucketBlocks = blocks.get(bucket);
+            bucketBlocks.add(append(channel, encoded));
+            int from = mergeFrom(bucketBlocks);
+            if (from < bucketBlocks.size() - 1) {
+                merge(bucket, channel, bucketBlocks.subList(from, bucketBlocks.size()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't append to booking archive " + file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Block append(FileChannel channel, Encoded encoded) throws IOException {
+        long start = channel.size();
+        var bytes = encoded.bytes().duplicate();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, start + bytes.position());
+        }
+        channel.force(false);
+        return encoded.at(start);
+    }
+
+    /**
+     * @return Index of the first block to merge with the last one; the last block's own index if none.
+     */
+    private static int mergeFrom(List<Block> bucketBlocks) {
+        int from = bucketBlocks.size() - 1;
+        long merged = bucketBlocks.get(from).rawLength();
+        while (from > 0) {
+            long previous = bucketBlocks.get(from - 1).rawLength();
+            if (previous > merged || previous + merged > MAX_BLOCK_BYTES) break;
+            merged += previous;
+            from--;
+        }
+        return from;
+    }
+
+    /**
+     * Replaces the trailing {@code tail} blocks of a bucket with one block holding the latest version of each booking.
+     * The merged block goes to a side file first, then replaces the tail in place.
+     */
+    private void merge(int bucket, FileChannel channel, List<Block> tail) throws IOException {
+        Map<String, Booking> latest = new LinkedHashMap<>();
+        for (Block block : tail) {
+            for (Booking booking : read(channel, block)) {
+                latest.merge(booking.id(), booking, (kept, next) -> next.version() >= kept.version() ? next : kept);
+            }
+        }
+        var encoded = encodeBlock(List.copyOf(latest.values()));
+        long start = tail.get(0).start();
+
+        var side = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + encoded.bytes().limit())
+                .putLong(start)
+                .putInt(encoded.bytes().limit())
+                .put(encoded.bytes().duplicate())
+                .flip();
+        try (var out = FileChannel.open(mergeFile(bucket),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (side.hasRemaining()) {
+                out.write(side);
+            }
+            out.force(false);
+        }
+        channel.truncate(start);
+        var merged = append(channel, encoded);
+        Files.delete(mergeFile(bucket));
+
+        tail.clear();
+        tail.add(merged);
+    }
+
+    /**
+     * Completes a merge interrupted by a crash: a complete side file means the tail may already be cut off, so it is
+     * written again; an incomplete one means the bucket file wasn't touched yet.
+     */
+    private void finishMerge(int bucket) {
+        var side = mergeFile(bucket);
+        try {
+            if (!Files.exists(side)) return;
+            var bytes = ByteBuffer.wrap(Files.readAllBytes(side));
+            if (bytes.remaining() >= Long.BYTES + Integer.BYTES) {
+                long start = bytes.getLong();
+                int length = bytes.getInt();
+                if (bytes.remaining() == length) {
+                    try (var channel = FileChannel.open(bucketFile(bucket),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        channel.truncate(start);
+                        while (bytes.hasRemaining()) {
+                            channel.write(bytes);
+                        }
+                        channel.force(false);
+                    }
+                }
+            }
+            Files.delete(side);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't recover booking archive merge " + side, e);
+        }
+    }
+
+    private static List<Booking> read(FileChannel channel, Block block) throws IOException {
+        var compressed = ByteBuffer.allocate(block.compressedLength());
+        readFully(channel, compressed, block.position());
+        return decode(inflate(compressed.array(), block.rawLength()));
+    }
+
+    private static Encoded encodeBlock(List<Booking> bookings) {
+        byte[] raw = encode(bookings);
+        byte[] compressed = deflate(raw);
+        long[] filter = filter(bookings);
+        var block = ByteBuffer.allocate(HEADER_BYTES + filter.length * Long.BYTES + compressed.length)
+                .putInt(compressed.length)
+                .putInt(raw.length)
+                .putInt(filter.length);
+        for (long word : filter) {
+            block.putLong(word);
+        }
+        block.put(compressed).flip();
+        return new Encoded(block, compressed.length, raw.length, filter);
+    }
+
+    /**
+     * Reads the block headers and filters of an existing bucket file, skipping the compressed bytes.
+     */
+    private static List<Block> loadBlocks(Path file) {
+        List<Block> blocks = new ArrayList<>();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var header = ByteBuffer.allocate(HEADER_BYTES);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                header.clear();
+                readFully(channel, header, position);
+                header.flip();
+                int compressedLength = header.getInt();
+                int rawLength = header.getInt();
+                var words = ByteBuffer.allocate(header.getInt() * Long.BYTES);
+                readFully(channel, words, position + HEADER_BYTES);
+                words.flip();
+                long[] filter = new long[words.remaining() / Long.BYTES];
+                words.asLongBuffer().get(filter);
+                position += HEADER_BYTES + words.capacity();
+                blocks.add(new Block(position, compressedLength, rawLength, filter));
+                position += compressedLength;
+            }
+        } catch (NoSuchFileException e) {
+            return blocks;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read booking archive " + file, e);
+        }
+        return blocks;
+    }
+
+    private Path bucketFile(int bucket) {
+        return directory.resolve("bookings-" + bucket + ".archive");
+    }
+
+    private Path mergeFile(int bucket) {
+        return directory.resolve("bookings-" + bucket + ".merge");
+    }
+
+    private static int bucket(String id) {
+        return (int) Long.remainderUnsigned(ConsistentHashRing.hash(id), BUCKETS);
+    }
+
+    // ---------- ID filter ----------
+
+    private static long[] filter(List<Booking> bookings) {
+        long[] words = new long[Math.max(1, (bookings.size() * FILTER_BITS_PER_ID + 63) / 64)];
+        for (Booking booking : bookings) {
+            long key = filterKey(booking.id());
+            for (int probe = 0; probe < FILTER_PROBES; probe++) {
+                int bit = bit(key, probe, words.length);
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return words;
+    }
+
+    private static boolean mightContain(long[] words, long key) {
+        for (int probe = 0; probe < FILTER_PROBES; probe++) {
+            int bit = bit(key, probe, words.length);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The ID hash, rotated so that the low bits that picked the bucket (the same for every ID in a block)
+     * don't feed the probes.
+     */
+    private static long filterKey(String id) {
+        return Long.rotateRight(ConsistentHashRing.hash(id), 6);
+    }
+
+    private static int bit(long key, int probe, int words) {
+        int combined = (int) key + probe * (int) (key >>> 32); // double hashing
+        return Integer.remainderUnsigned(combined, words * 64);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new EOFException("Truncated booking archive block");
+        }
+    }
+
+    // ---------- Encoding ----------
+
+    private static byte[] encode(List<Booking> bookings) {
+        var bytes = new ByteArrayOutputStream(bookings.size() * 160);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(bookings.size());
+            for (Booking booking : bookings) {
+                out.writeUTF(booking.id());
+                out.writeUTF(booking.flightId());
+                out.writeUTF(booking.passenger().name());
+                out.writeUTF(booking.passenger().email());
+                out.writeUTF(booking.passenger().phone());
+                out.writeUTF(booking.bookedAt().toString());
+                out.writeUTF(booking.status().name());
+                out.writeLong(booking.version());
+                out.writeUTF(booking.updatedAt().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream, can't happen
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Booking> decode(byte[] raw) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            int count = in.readInt();
+            List<Booking> bookings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                bookings.add(new Booking(
+                        in.readUTF(),
+                        in.readUTF(),
+                        new Passenger(in.readUTF(), in.readUTF(), in.readUTF()),
+                        LocalDateTime.parse(in.readUTF()),
+                        BookingStatus.valueOf(in.readUTF()),
+                        in.readLong(),
+                        LocalDateTime.parse(in.readUTF())
+                ));
+            }
+            return bookings;
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            var out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int offset = 0;
+            while (offset < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, offset, rawLength - offset);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                offset += n;
+            }
+            if (offset != rawLength) throw new IOException("Corrupt booking archive block");
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt booking archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
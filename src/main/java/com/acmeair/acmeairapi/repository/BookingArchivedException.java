@@ -0,0 +1,24 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+
+/**
+ * Thrown when a write targets a booking that has been moved to the {@link BookingArchive}.
+ * Archived bookings are read-only.
+ */
+public class BookingArchivedException extends RuntimeException {
+
+    private final transient Booking archived;
+
+    public BookingArchivedException(Booking archived) {
+        super("Booking " + archived.id() + " has been archived and can no longer be changed");
+        this.archived = archived;
+    }
+
+    /**
+     * @return The booking as archived.
+     */
+    public Booking archived() {
+        return archived;
+    }
+}
@@ -3,26 +3,42 @@ package com.acmeair.acmeairapi.repository;
 import com.acmeair.acmeairapi.domain.Booking;
 import com.acmeair.acmeairapi.domain.BookingStatus;
 import com.acmeair.acmeairapi.domain.Passenger;
-import org.springframework.stereotype.Component;
+import org.springframework.lang.Nullable;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
- * In-memory booking repository supporting CRU(D). (D) is cancellation.
+ * Storage for bookings supporting CRU(D). (D) is cancellation.
+ * <p>
+ * The in-memory implementation is the default; run with the {@code jdbc} profile to use the
+ * relational backend. Setting {@code acmeair.storage=jdbc} alone is not enough, because the
+ * default configuration leaves out the {@code DataSource}.
  */
-@Component
-public class BookingRepository {
+public interface BookingRepository {
 
-    private final Map<String, Booking> bookings = new ConcurrentHashMap<>();
+    /**
+     * Expected version meaning "whatever the current version is" (unconditional write).
+     */
+    long ANY_VERSION = -1;
 
     /**
      * Stores a new booking record.
      *
      * @param booking Booking to persist.
      */
-    public void save(Booking booking) {
-        bookings.put(booking.id(), booking);
+    void save(Booking booking);
+
+    /**
+     * Stores several new booking records in one go. Backends that support it
+     * write these as a batch instead of one round trip per booking.
+     *
+     * @param bookings Bookings to persist.
+     */
+    default void saveAll(Collection<Booking> bookings) {
+        bookings.forEach(this::save);
     }
 
     /**
@@ -31,8 +47,49 @@ public class BookingRepository {
      * @param id Booking identifier.
      * @return Optional booking if found.
      */
-    public Optional<Booking> findById(String id) {
-        return Optional.ofNullable(bookings.get(id));
+    Optional<Booking> findById(String id);
+
+    /**
+     * Fetches several bookings at once. Backends that support it resolve these in a single
+     * round trip instead of one lookup per ID.
+     *
+     * @param ids Booking identifiers; duplicates are ignored.
+     * @return Bookings that were found, in no particular order.
+     */
+    default List<Booking> findAllById(Collection<String> ids) {
+        return ids.stream().distinct().map(this::findById).flatMap(Optional::stream).toList();
+    }
+
+    /**
+     * Finds bookings by partial passenger name. Each word of {@code query} must start a word of the
+     * name, ignoring case, accents and apostrophes, so "smi" and "j smi" both find "John Smith".
+     * Backends keep a name index so this doesn't scan every booking; the default does.
+     *
+     * @param query Name prefixes, e.g. "smi".
+     * @param flightId Only bookings on this flight, or {@code null} for all flights.
+     * @param limit Max bookings to return.
+     * @return Matching bookings, ordered by the matched name word and then by ID.
+     */
+    default List<Booking> findByPassengerName(String query, @Nullable String flightId, int limit) {
+        var prefixes = PassengerNameIndex.words(query);
+        if (prefixes.isEmpty() || limit <= 0) return List.of();
+        return PassengerNameIndex.filter(getAllBookings().stream(), prefixes, flightId)
+                .sorted(PassengerNameIndex.order(prefixes))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Counts the confirmed bookings on a flight, i.e. the seats it has sold.
+     * The default scans every booking.
+     *
+     * @param flightId Flight identifier.
+     * @return Number of {@link BookingStatus#CONFIRMED} bookings on the flight.
+     */
+    default int countConfirmed(String flightId) {
+        return (int) getAllBookings().stream()
+                .filter(booking -> booking.flightId().equals(flightId) && booking.status() == BookingStatus.CONFIRMED)
+                .count();
     }
 
     /**
@@ -42,49 +99,50 @@ public class BookingRepository {
      * @param newPassenger Updated passenger details.
      * @return Optional updated booking if successful.
      */
-    public Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger) {
-        var existing = bookings.get(bookingId);
-        if (existing == null) return Optional.empty();
-        var updated = new Booking(
-                existing.id(),
-                existing.flightId(),
-                newPassenger,
-                existing.bookedAt(),
-                existing.status()
-        );
-        bookings.put(updated.id(), updated);
-        return Optional.of(updated);
+    default Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger) {
+        return updatePassenger(bookingId, newPassenger, ANY_VERSION);
     }
 
+    /**
+     * Atomically updates passenger info if the booking is still at the expected version.
+     * The write is applied to the latest state of the booking, so it never undoes a concurrent change.
+     *
+     * @param bookingId ID of the booking to update.
+     * @param newPassenger Updated passenger details.
+     * @param expectedVersion Version the caller last saw, or {@link #ANY_VERSION}.
+     * @return Optional updated booking if found.
+     * @throws BookingVersionConflictException if the booking has moved past {@code expectedVersion}.
+     */
+    Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion);
+
     /**
      * Cancels a booking by changing its status.
      *
      * @param bookingId ID of the booking to cancel.
      * @return Optional cancelled booking if found.
      */
-    public Optional<Booking> cancel(String bookingId) {
-        var existing = bookings.get(bookingId);
-        if (existing == null) return Optional.empty();
-        if (existing.status() == BookingStatus.CANCELLED) {
-            return Optional.of(existing); // idempotent
-        }
-        var cancelled = new Booking(
-                existing.id(),
-                existing.flightId(),
-                existing.passenger(),
-                existing.bookedAt(),
-                BookingStatus.CANCELLED
-        );
-        bookings.put(cancelled.id(), cancelled);
-        return Optional.of(cancelled);
+    default Optional<Booking> cancel(String bookingId) {
+        return cancel(bookingId, ANY_VERSION);
     }
 
     /**
-     * Generates a new unique booking ID.
+     * Atomically cancels a booking if it is still at the expected version.
+     * Cancelling an already-cancelled booking is a no-op and returns it unchanged.
+     *
+     * @param bookingId ID of the booking to cancel.
+     * @param expectedVersion Version the caller last saw, or {@link #ANY_VERSION}.
+     * @return Optional cancelled booking if found.
+     * @throws BookingVersionConflictException if the booking has moved past {@code expectedVersion}.
+     */
+    Optional<Booking> cancel(String bookingId, long expectedVersion);
+
+    /**
+     * Generates a new unique booking ID for a booking on the given flight.
      *
+     * @param flightId Flight the booking is for.
      * @return UUID string.
      */
-    public static String newId() {
+    default String newId(String flightId) {
         return UUID.randomUUID().toString();
     }
 
@@ -93,10 +151,5 @@ public class BookingRepository {
      *
      * @return New list of all bookings.
      */
-    public List<Booking> getAllBookings() {
-        // return bookings.values()
-        // ^ will expose live reference to the internal map's value collection o.o
-        // returning new so original list not mutated
-        return new ArrayList<>(bookings.values());
-    }
+    List<Booking> getAllBookings();
 }
@@ -0,0 +1,112 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A single in-process partition of the booking store. Owns every booking for the flights
+ * the hash ring assigns to it.
+ */
+final class BookingShard {
+
+    private final int index;
+    private final ConcurrentHashMap<String, Booking> bookings = new ConcurrentHashMap<>();
+
+    /**
+     * Where the sweeper got to; only touched by the (single) sweeper thread.
+     */
+    private Iterator<Booking> sweepCursor;
+
+    BookingShard(int index) {
+        this.index = index;
+    }
+
+    int index() {
+        return index;
+    }
+
+    void save(Booking booking) {
+        bookings.put(booking.id(), booking);
+    }
+
+    Optional<Booking> findById(String id) {
+        return Optional.ofNullable(bookings.get(id));
+    }
+
+    Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion) {
+        return transition(bookingId, expectedVersion, existing -> existing.withPassenger(newPassenger));
+    }
+
+    Optional<Booking> cancel(String bookingId, long expectedVersion) {
+        return transition(bookingId, expectedVersion, existing ->
+                existing.status() == BookingStatus.CANCELLED
+                        ? existing // idempotent
+                        : existing.withStatus(BookingStatus.CANCELLED));
+    }
+
+    Collection<Booking> values() {
+        return bookings.values();
+    }
+
+    int size() {
+        return bookings.size();
+    }
+
+    /**
+     * Examines up to {@code budget} bookings, continuing where the previous call stopped,
+     * and adds the ones matching {@code expired} to {@code out}. The cursor is weakly consistent,
+     * so concurrent writes never block or fail it; a full pass wraps around to the start.
+     *
+     * @return Number of bookings examined.
+     */
+    int sweep(int budget, Predicate<Booking> expired, List<Booking> out) {
+        int examined = 0;
+        if (sweepCursor == null || !sweepCursor.hasNext()) {
+            sweepCursor = bookings.values().iterator();
+        }
+        while (examined < budget && sweepCursor.hasNext()) {
+            var booking = sweepCursor.next();
+            examined++;
+            if (expired.test(booking)) out.add(booking);
+        }
+        return examined;
+    }
+
+    /**
+     * Drops a booking from memory, but only if nobody has changed it since it was archived.
+     *
+     * @return Whether the booking was removed.
+     */
+    boolean evict(Booking archived) {
+        return bookings.remove(archived.id(), archived);
+    }
+
+    /**
+     * Applies a change as a compare-and-set against the booking it was computed from.
+     * If another writer got in first, the change is recomputed from the new state,
+     * so e.g. a passenger edit can never resurrect a concurrently cancelled booking.
+     * Returning the same instance from {@code change} means "nothing to write".
+     */
+    private Optional<Booking> transition(String bookingId, long expectedVersion, UnaryOperator<Booking> change) {
+        while (true) {
+            var existing = bookings.get(bookingId);
+            if (existing == null) return Optional.empty();
+            if (expectedVersion != BookingRepository.ANY_VERSION && existing.version() != expectedVersion) {
+                throw new BookingVersionConflictException(existing, expectedVersion);
+            }
+            var next = change.apply(existing);
+            if (next == existing || bookings.replace(bookingId, existing, next)) {
+                return Optional.of(next);
+            }
+        }
+    }
+}
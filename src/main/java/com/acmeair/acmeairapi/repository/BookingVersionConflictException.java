@@ -0,0 +1,31 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+
+/**
+ * Thrown when a conditional booking write expected a version that is no longer current,
+ * i.e. someone else changed the booking first.
+ */
+public class BookingVersionConflictException extends RuntimeException {
+
+    private final transient Booking current;
+    private final long expectedVersion;
+
+    public BookingVersionConflictException(Booking current, long expectedVersion) {
+        super("Booking " + current.id() + " is at version " + current.version()
+                + ", expected " + expectedVersion);
+        this.current = current;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * @return The booking as it currently stands.
+     */
+    public Booking current() {
+        return current;
+    }
+
+    public long expectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,210 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through, write-through cache in front of another {@link BookingRepository}
+ * (normally the JDBC one), so polling {@code GET /api/bookings/{id}} doesn't hit the database every time.
+ * <ul>
+ *     <li>Bounded by an estimate of retained heap bytes, not entry count.</li>
+ *     <li>Eviction is Caffeine's W-TinyLFU (admission by frequency sketch, segmented LRU main space).</li>
+ *     <li>Concurrent misses for the same ID are coalesced into a single load from the delegate.</li>
+ * </ul>
+ */
+public class CachingBookingRepository implements BookingRepository {
+
+    private final BookingRepository delegate;
+    private final Cache<String, Booking> cache;
+    private final long maxBytes;
+
+    /**
+     * Snapshot of cache statistics.
+     *
+     * @param hits           Lookups served from the cache.
+     * @param misses         Lookups that went to the delegate.
+     * @param hitRate        hits / (hits + misses), 1.0 when there were no lookups.
+     * @param evictions      Entries evicted to stay under the size bound.
+     * @param evictedBytes   Estimated bytes evicted.
+     * @param entries        Current entry count (approximate).
+     * @param estimatedBytes Current estimated size in bytes.
+     * @param maxBytes       Configured size bound in bytes.
+     */
+    public record Stats(
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long evictedBytes,
+            long entries,
+            long estimatedBytes,
+            long maxBytes
+    ) {}
+
+    public CachingBookingRepository(BookingRepository delegate, long maxBytes) {
+        this(delegate, maxBytes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param executor Runs Caffeine's maintenance (eviction) work; tests pass a same-thread executor.
+     */
+    CachingBookingRepository(BookingRepository delegate, long maxBytes, Executor executor) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(CachingBookingRepository::estimateBytes)
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void save(Booking booking) {
+        delegate.save(booking);
+        remember(booking);
+    }
+
+    @Override
+    public void saveAll(Collection<Booking> bookings) {
+        delegate.saveAll(bookings);
+        bookings.forEach(this::remember);
+    }
+
+    /**
+     * Returns the cached booking, loading it from the delegate on a miss.
+     * Only one caller loads a given ID at a time; the others wait for its result.
+     * Unknown IDs aren't cached.
+     */
+    @Override
+    public Optional<Booking> findById(String id) {
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    /**
+     * Serves cached bookings and loads all misses from the delegate in one bulk call.
+     */
+    @Override
+    public List<Booking> findAllById(Collection<String> ids) {
+        return List.copyOf(cache.getAll(ids, missing -> delegate.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Booking::id, Function.identity()))).values());
+    }
+
+    /**
+     * Always answered by the delegate's name index; the cache has no name lookup.
+     */
+    @Override
+    public List<Booking> findByPassengerName(String query, @Nullable String flightId, int limit) {
+        return delegate.findByPassengerName(query, flightId, limit);
+    }
+
+    @Override
+    public Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion) {
+        return writeThrough(bookingId, () -> delegate.updatePassenger(bookingId, newPassenger, expectedVersion));
+    }
+
+    @Override
+    public Optional<Booking> cancel(String bookingId, long expectedVersion) {
+        return writeThrough(bookingId, () -> delegate.cancel(bookingId, expectedVersion));
+    }
+
+    @Override
+    public String newId(String flightId) {
+        return delegate.newId(flightId);
+    }
+
+    /**
+     * Always counted by the delegate, since cached bookings may be missing or stale.
+     */
+    @Override
+    public int countConfirmed(String flightId) {
+        return delegate.countConfirmed(flightId);
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        return delegate.getAllBookings();
+    }
+
+    /**
+     * @return Current hit/miss/eviction statistics.
+     */
+    public Stats stats() {
+        var stats = cache.stats();
+        long estimatedBytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new Stats(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                cache.estimatedSize(),
+                estimatedBytes,
+                maxBytes
+        );
+    }
+
+    /**
+     * Runs pending eviction work now rather than waiting for the executor.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private Optional<Booking> writeThrough(String bookingId, Supplier<Optional<Booking>> write) {
+        Optional<Booking> written;
+        try {
+            written = write.get();
+        } catch (BookingVersionConflictException e) {
+            remember(e.current()); // our copy was stale
+            throw e;
+        }
+        written.ifPresentOrElse(this::remember, () -> cache.invalidate(bookingId));
+        return written;
+    }
+
+    /**
+     * Caches a written booking unless a newer version already got there first
+     * (two writers can finish against the store in one order and reach the cache in the other).
+     */
+    private void remember(Booking booking) {
+        cache.asMap().merge(booking.id(), booking,
+                (cached, written) -> written.version() >= cached.version() ? written : cached);
+    }
+
+    /**
+     * Rough retained size of a cache entry: the key, the booking graph (booking, passenger,
+     * both timestamps and their date/time parts, compact Latin-1 strings) and Caffeine's node overhead.
+     * Only needs to be proportional to real usage for the byte bound to hold.
+     */
+    static int estimateBytes(String id, Booking booking) {
+        final int entryOverhead = 64;      // Caffeine node + hash table slot
+        final int timestamp = 24 + 24 + 24;  // LocalDateTime, LocalDate, LocalTime
+        final int objectGraph = 48 + 24 + 2 * timestamp; // Booking, Passenger, bookedAt, updatedAt
+        var passenger = booking.passenger();
+        return entryOverhead + objectGraph
+                + stringBytes(id)
+                + stringBytes(booking.flightId())
+                + stringBytes(passenger == null ? null : passenger.name())
+                + stringBytes(passenger == null ? null : passenger.email())
+                + stringBytes(passenger == null ? null : passenger.phone());
+    }
+
+    private static int stringBytes(String s) {
+        return s == null ? 0 : 40 + s.length(); // String header + byte[] header + payload
+    }
+}
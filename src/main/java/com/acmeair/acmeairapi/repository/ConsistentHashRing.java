@@ -0,0 +1,67 @@
+package com.acmeair.acmeairapi.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring mapping partition keys (e.g. flight IDs) onto a fixed set of shards.
+ * Each shard is placed on the ring several times (virtual nodes) to even out the distribution.
+ * The ring is immutable once built, so lookups are safe from any thread.
+ */
+final class ConsistentHashRing {
+
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+    private final int shardCount;
+
+    /**
+     * Builds a ring for the given number of shards.
+     *
+     * @param shardCount   Number of shards, numbered 0..shardCount-1.
+     * @param virtualNodes Number of ring positions per shard.
+     */
+    ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1) throw new IllegalArgumentException("shardCount must be >= 1");
+        if (virtualNodes < 1) throw new IllegalArgumentException("virtualNodes must be >= 1");
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(hash("shard-" + shard + "#" + v), shard);
+            }
+        }
+    }
+
+    /**
+     * Finds the shard owning the given key (first ring position clockwise from its hash).
+     *
+     * @param key Partition key.
+     * @return Shard index.
+     */
+    int shardFor(String key) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue(); // wrap around
+    }
+
+    int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, followed by a murmur3 finalizer to spread short keys
+     * like "FL001"/"FL002" across the whole ring. Stable across JVMs, unlike String.hashCode.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,78 +1,65 @@
 package com.acmeair.acmeairapi.repository;
 
 import com.acmeair.acmeairapi.domain.Flight;
-import jakarta.annotation.PostConstruct;
-import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
- * In-memory storage and retrieval for available flights.
+ * Storage and retrieval for available flights.
  */
-@Component
-public class FlightRepository {
+public interface FlightRepository {
 
     /**
-     * Initializes the flight store with deterministic test data.
+     * Replaces all existing flights with the given list. The first call marks the
+     * repository as loaded.
+     *
+     * @param seed List of flights to load.
      */
-    private final Map<String, Flight> flights = new HashMap<>();
-
-    @PostConstruct
-    public void init(){
-        replaceAll(defaultSeed());
-    }
+    void replaceAll(Collection<Flight> seed);
 
     /**
-     * Replaces all existing flights with the given list.
+     * Searches for flights matching origin and destination (case-insensitive).
      *
-     * @param seed List of flights to load into memory.
+     * @param origin Departure location.
+     * @param destination Arrival location.
+     * @return List of matching flights sorted by departure time.
      */
-    public void replaceAll(Collection<Flight> seed){
-        flights.clear();
-        seed.forEach(flight -> flights.put(flight.id(), flight));
-    }
+    List<Flight> search(String origin, String destination);
 
     /**
-     * Returns default fixture flights for testing.
+     * Retrieves a flight by its ID.
      *
-     * @return List of predefined flights.
+     * @param id Flight identifier.
+     * @return Optional containing the flight if found.
      */
-    List<Flight> defaultSeed() {
-        LocalDateTime base = LocalDateTime.of(2025, 8, 11, 9, 0);
-        return List.of(
-                new Flight("FL001", "WLG", "AKL",     base.plusHours(2), base.plusHours(3)),
-                new Flight("FL002", "WLG", "CHC", base.plusHours(4), base.plusHours(5)),
-                new Flight("FL003", "AKL",   "WLG",   base.plusHours(6), base.plusHours(7))
-        );
-    }
+    Optional<Flight> findById(String id);
 
     /**
-     * Searches for flights matching origin and destination.
+     * Retrieves several flights at once.
      *
-     * @param origin Departure location.
-     * @param destination Arrival location.
-     * @return Sorted list of matching flights.
+     * @param ids Flight identifiers; duplicates are ignored.
+     * @return Flights that were found, in no particular order.
      */
-    public List<Flight> search(String origin, String destination) {
-        return flights.values().stream()
-                .filter(f -> f.origin().equalsIgnoreCase(origin))
-                .filter(f -> f.destination().equalsIgnoreCase(destination))
-                .sorted(Comparator.comparing(Flight::departureTime))
-                .toList();
+    default List<Flight> findAllById(Collection<String> ids) {
+        return ids.stream().distinct().map(this::findById).flatMap(Optional::stream).toList();
     }
 
     /**
-     * Retrieves a flight by its ID.
-     *
-     * @param id Flight identifier.
-     * @return Optional containing the flight if found.
+     * @return New list of all flights.
      */
-    public Optional<Flight> findById(String id) {
-        return Optional.ofNullable(flights.get(id));
-    }
+    List<Flight> findAll();
 
-    public List<Flight> findAll() {
-        return new ArrayList<>(flights.values());
-    }
-}
\ No newline at end of file
+    /**
+     * @return Version of the flight set, incremented every time {@link #replaceAll(Collection)} swaps it.
+     *         Responses derived from the timetable can be cached against it.
+     */
+    long version();
+
+    /**
+     * @return Whether the first timetable has been loaded. Reads issued before then
+     *         wait for it to arrive.
+     */
+    boolean isLoaded();
+}
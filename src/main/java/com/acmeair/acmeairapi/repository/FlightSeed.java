@@ -0,0 +1,28 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Flight;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deterministic fixture timetable shared by every flight repository backend.
+ */
+public final class FlightSeed {
+
+    private FlightSeed() {}
+
+    /**
+     * Returns default fixture flights for testing.
+     *
+     * @return List of predefined flights.
+     */
+    public static List<Flight> defaultSeed() {
+        LocalDateTime base = LocalDateTime.of(2025, 8, 11, 9, 0);
+        return List.of(
+                new Flight("FL001", "WLG", "AKL",     base.plusHours(2), base.plusHours(3)),
+                new Flight("FL002", "WLG", "CHC", base.plusHours(4), base.plusHours(5)),
+                new Flight("FL003", "AKL",   "WLG",   base.plusHours(6), base.plusHours(7))
+        );
+    }
+}
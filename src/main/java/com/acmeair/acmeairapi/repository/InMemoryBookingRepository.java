@@ -0,0 +1,266 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * In-memory booking repository supporting CRU(D). (D) is cancellation.
+ * <p>
+ * Bookings are partitioned by flight ID across a fixed number of shards using a
+ * consistent hash ring, so all bookings for one flight live together. Booking IDs
+ * encode their owning shard ({@code s<shard>-<uuid>}), so lookups by ID go straight
+ * to the owner without consulting the ring or scanning other shards. All shards live in this JVM, so this
+ * spreads contention within one instance; it doesn't route to, or stay consistent with, other instances.
+ * <p>
+ * When a {@link BookingArchive} is configured, {@link #archiveExpired(Predicate, int)} moves old
+ * bookings out of memory into it; they stay readable through {@link #findById(String)} but become read-only.
+ * <p>
+ * Passenger names of the bookings held in memory are kept in a {@link PassengerNameIndex}, updated on every
+ * save and passenger change, for {@link #findByPassengerName(String, String, int)}.
+ */
+@Component
+@ConditionalOnProperty(name = "acmeair.storage", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBookingRepository implements BookingRepository {
+
+    static final int DEFAULT_SHARDS = 4;
+    static final int VIRTUAL_NODES_PER_SHARD = 64;
+
+    private static final String SHARD_PREFIX = "s";
+
+    private final ConsistentHashRing ring;
+    private final BookingShard[] shards;
+    private final BookingArchive archive;
+    private final PassengerNameIndex names = new PassengerNameIndex();
+
+    /**
+     * Shard the next {@link #archiveExpired} call starts from, so every shard gets its turn.
+     */
+    private int nextSweepShard;
+
+    public InMemoryBookingRepository() {
+        this(DEFAULT_SHARDS);
+    }
+
+    public InMemoryBookingRepository(int shardCount) {
+        this(shardCount, null);
+    }
+
+    @Autowired
+    public InMemoryBookingRepository(
+            @Value("${acmeair.bookings.shards:" + DEFAULT_SHARDS + "}") int shardCount,
+            @Nullable BookingArchive archive
+    ) {
+        this.archive = archive;
+        this.ring = new ConsistentHashRing(shardCount, VIRTUAL_NODES_PER_SHARD);
+        this.shards = new BookingShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new BookingShard(i);
+        }
+    }
+
+    /**
+     * Stores a new booking record on the shard owning its flight.
+     *
+     * @param booking Booking to persist.
+     */
+    @Override
+    public void save(Booking booking) {
+        shardForFlight(booking.flightId()).save(booking);
+        names.index(booking);
+    }
+
+    /**
+     * Fetches a booking by ID.
+     *
+     * @param id Booking identifier.
+     * @return Optional booking if found.
+     */
+    @Override
+    public Optional<Booking> findById(String id) {
+        var shard = shardForBooking(id);
+        if (shard.isEmpty()) return Optional.empty();
+        var hot = shard.get().findById(id);
+        return hot.isPresent() ? hot : archived(id);
+    }
+
+    /**
+     * Updates passenger info for a given booking with a lock-free compare-and-set on its shard.
+     *
+     * @param bookingId ID of the booking to update.
+     * @param newPassenger Updated passenger details.
+     * @param expectedVersion Version the caller last saw, or {@link #ANY_VERSION}.
+     * @return Optional updated booking if successful.
+     */
+    @Override
+    public Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion) {
+        var updated = shardForBooking(bookingId).flatMap(shard -> shard.updatePassenger(bookingId, newPassenger, expectedVersion));
+        updated.ifPresent(names::index);
+        if (updated.isEmpty()) archived(bookingId).ifPresent(booking -> {
+            throw new BookingArchivedException(booking);
+        });
+        return updated;
+    }
+
+    /**
+     * Cancels a booking by changing its status, with a lock-free compare-and-set on its shard.
+     *
+     * @param bookingId ID of the booking to cancel.
+     * @param expectedVersion Version the caller last saw, or {@link #ANY_VERSION}.
+     * @return Optional cancelled booking if found.
+     */
+    @Override
+    public Optional<Booking> cancel(String bookingId, long expectedVersion) {
+        var cancelled = shardForBooking(bookingId).flatMap(shard -> shard.cancel(bookingId, expectedVersion));
+        if (cancelled.isPresent()) return cancelled;
+        var archived = archived(bookingId);
+        if (archived.isEmpty()) return Optional.empty();
+        if (archived.get().status() == BookingStatus.CANCELLED && expectedVersion == ANY_VERSION) {
+            return archived; // still idempotent
+        }
+        throw new BookingArchivedException(archived.get());
+    }
+
+    /**
+     * Looks the name up in the index, then re-checks each booking against its current name
+     * (it may have changed since the lookup). Archived bookings are not included.
+     */
+    @Override
+    public List<Booking> findByPassengerName(String query, @Nullable String flightId, int limit) {
+        var prefixes = PassengerNameIndex.words(query);
+        var ids = names.search(query, flightId, limit);
+        return PassengerNameIndex.filter(
+                ids.stream().flatMap(id -> shardForBooking(id).flatMap(shard -> shard.findById(id)).stream()),
+                prefixes, flightId
+        ).toList();
+    }
+
+    /**
+     * Counts on the shard owning the flight only. Archived bookings are not included (their flights have long departed).
+     */
+    @Override
+    public int countConfirmed(String flightId) {
+        return (int) shardForFlight(flightId).values().stream()
+                .filter(booking -> booking.flightId().equals(flightId) && booking.status() == BookingStatus.CONFIRMED)
+                .count();
+    }
+
+    /**
+     * Generates a new unique booking ID routed to the shard owning the flight.
+     *
+     * @param flightId Flight the booking is for.
+     * @return Shard-prefixed UUID string, e.g. {@code s2-47822eac-c2dc-4e03-a084-019d7a7ddb98}.
+     */
+    @Override
+    public String newId(String flightId) {
+        return SHARD_PREFIX + ring.shardFor(flightId) + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * List all bookings held in memory (archived bookings are not included).
+     *
+     * @return New list of all bookings.
+     */
+    @Override
+    public List<Booking> getAllBookings() {
+        // return bookings.values()
+        // ^ will expose live reference to the internal map's value collection o.o
+        // returning new so original list not mutated
+        var all = new ArrayList<Booking>();
+        for (BookingShard shard : shards) {
+            all.addAll(shard.values());
+        }
+        return all;
+    }
+
+    /**
+     * @return Number of shards the bookings are partitioned over.
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Moves expired bookings from memory into the archive, examining at most {@code budget}
+     * bookings per call so each sweep step stays short. Successive calls walk all shards in turn.
+     * Not thread-safe: meant to be driven by a single background sweeper.
+     *
+     * @param expired Whether a booking should leave the hot set.
+     * @param budget  Max bookings to examine.
+     * @return Number of bookings moved to the archive.
+     * @throws IllegalStateException if no archive is configured.
+     */
+    public int archiveExpired(Predicate<Booking> expired, int budget) {
+        if (archive == null) throw new IllegalStateException("No booking archive configured");
+        List<Booking> candidates = new ArrayList<>();
+        int remaining = budget;
+        for (int visited = 0; visited < shards.length && remaining > 0; visited++) {
+            var shard = shards[nextSweepShard];
+            nextSweepShard = (nextSweepShard + 1) % shards.length;
+            remaining -= shard.sweep(remaining, expired, candidates);
+        }
+        if (candidates.isEmpty()) return 0;
+
+        archive.archive(candidates); // durable before it leaves memory, so reads never miss
+        int moved = 0;
+        for (Booking booking : candidates) {
+            // changed in the meantime -> keep the newer copy in memory, a later sweep re-archives it
+            if (shardForFlight(booking.flightId()).evict(booking)) {
+                names.remove(booking);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * @return Number of bookings currently held in memory.
+     */
+    public int hotSize() {
+        int size = 0;
+        for (BookingShard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Looks a booking up in the archive, unless its ID isn't one this repository could have issued.
+     */
+    private Optional<Booking> archived(String bookingId) {
+        if (archive == null || shardForBooking(bookingId).isEmpty()) return Optional.empty();
+        return archive.findById(bookingId);
+    }
+
+    /**
+     * Finds the shard owning all bookings for a flight.
+     */
+    BookingShard shardForFlight(String flightId) {
+        return shards[ring.shardFor(flightId)];
+    }
+
+    /**
+     * Decodes the owning shard from a booking ID. IDs that weren't issued by
+     * {@link #newId(String)} (or point at a shard that doesn't exist) own nothing.
+     */
+    Optional<BookingShard> shardForBooking(String bookingId) {
+        if (bookingId == null || !bookingId.startsWith(SHARD_PREFIX)) return Optional.empty();
+        int dash = bookingId.indexOf('-');
+        if (dash <= SHARD_PREFIX.length()) return Optional.empty();
+        int shard = 0;
+        for (int i = SHARD_PREFIX.length(); i < dash; i++) {
+            char c = bookingId.charAt(i);
+            if (c < '0' || c > '9' || shard > shards.length) return Optional.empty();
+            shard = shard * 10 + (c - '0');
+        }
+        return shard < shards.length ? Optional.of(shards[shard]) : Optional.empty();
+    }
+}
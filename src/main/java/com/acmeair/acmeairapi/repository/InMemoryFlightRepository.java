@@ -0,0 +1,109 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Flight;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory storage and retrieval for available flights.
+ * <p>
+ * Flights are held in an immutable snapshot with a route index, swapped atomically by
+ * {@link #replaceAll(Collection)}. Nothing is loaded at construction; reads wait until the
+ * first timetable arrives (see {@code TimetableLoader}).
+ */
+@Component
+@ConditionalOnProperty(name = "acmeair.storage", havingValue = "memory", matchIfMissing = true)
+public class InMemoryFlightRepository implements FlightRepository {
+
+    /**
+     * Flights by ID, plus each route's flights sorted by departure time.
+     */
+    private record Timetable(long version, Map<String, Flight> byId, Map<String, List<Flight>> byRoute) {}
+
+    private final TimetableGate gate = new TimetableGate();
+    private volatile Timetable timetable = new Timetable(0, Map.of(), Map.of());
+
+    /**
+     * Loads the deterministic fixture timetable synchronously.
+     */
+    public void init(){
+        replaceAll(FlightSeed.defaultSeed());
+    }
+
+    /**
+     * Replaces all existing flights with the given list and rebuilds the route index.
+     * Readers see either the old or the new timetable, never a mix.
+     *
+     * @param seed List of flights to load into memory.
+     */
+    @Override
+    public synchronized void replaceAll(Collection<Flight> seed){
+        Map<String, Flight> byId = new HashMap<>();
+        seed.forEach(flight -> byId.put(flight.id(), flight));
+
+        Map<String, List<Flight>> byRoute = new HashMap<>();
+        byId.values().forEach(flight -> byRoute
+                .computeIfAbsent(routeKey(flight.origin(), flight.destination()), key -> new ArrayList<>())
+                .add(flight));
+        byRoute.replaceAll((route, flights) -> flights.stream()
+                .sorted(Comparator.comparing(Flight::departureTime))
+                .toList());
+
+        timetable = new Timetable(timetable.version() + 1, byId, byRoute);
+        gate.open();
+    }
+
+    /**
+     * Searches for flights matching origin and destination.
+     *
+     * @param origin Departure location.
+     * @param destination Arrival location.
+     * @return Sorted list of matching flights.
+     */
+    @Override
+    public List<Flight> search(String origin, String destination) {
+        gate.await();
+        return timetable.byRoute().getOrDefault(routeKey(origin, destination), List.of());
+    }
+
+    /**
+     * Retrieves a flight by its ID.
+     *
+     * @param id Flight identifier.
+     * @return Optional containing the flight if found.
+     */
+    @Override
+    public Optional<Flight> findById(String id) {
+        gate.await();
+        return Optional.ofNullable(timetable.byId().get(id));
+    }
+
+    @Override
+    public List<Flight> findAllById(Collection<String> ids) {
+        gate.await();
+        var byId = timetable.byId();
+        return ids.stream().distinct().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<Flight> findAll() {
+        gate.await();
+        return new ArrayList<>(timetable.byId().values());
+    }
+
+    @Override
+    public long version() {
+        return timetable.version();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return gate.isOpen();
+    }
+
+    private static String routeKey(String origin, String destination) {
+        return origin.toUpperCase(Locale.ROOT) + '>' + destination.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,261 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Relational booking repository backed by a pooled {@link javax.sql.DataSource}.
+ * Schema lives in {@code db/schema.sql}.
+ * <p>
+ * The folded words of each passenger name are kept in {@code booking_name_words}, written in the same
+ * transaction as the booking, so {@link #findByPassengerName(String, String, int)} is a range scan on
+ * its {@code (word, booking_id)} or {@code (flight_id, word, booking_id)} index.
+ */
+public class JdbcBookingRepository implements BookingRepository {
+
+    /**
+     * Max rows sent per JDBC batch by {@link #saveAll(Collection)}.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = """
+            INSERT INTO bookings (id, flight_id, passenger_name, passenger_email, passenger_phone, booked_at, status, version, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT = """
+            SELECT id, flight_id, passenger_name, passenger_email, passenger_phone, booked_at, status, version, updated_at
+            FROM bookings
+            """;
+
+    private static final String INSERT_WORD = "INSERT INTO booking_name_words (word, flight_id, booking_id) VALUES (?, ?, ?)";
+
+    /**
+     * Bookings with a name word starting with the prefix, one page at a time in {@code (word, booking_id)} order.
+     */
+    private static final String NAME_SEARCH = """
+            SELECT w.word, b.id, b.flight_id, b.passenger_name, b.passenger_email, b.passenger_phone,
+                b.booked_at, b.status, b.version, b.updated_at
+            FROM booking_name_words w JOIN bookings b ON b.id = w.booking_id
+            WHERE w.word LIKE ? AND (w.word > ? OR (w.word = ? AND w.booking_id > ?))
+            """;
+
+    private static final String NAME_ORDER = " ORDER BY w.word, w.booking_id LIMIT ?";
+
+    private static final RowMapper<Booking> BOOKING_ROW = (rs, rowNum) -> new Booking(
+            rs.getString("id"),
+            rs.getString("flight_id"),
+            new Passenger(
+                    rs.getString("passenger_name"),
+                    rs.getString("passenger_email"),
+                    rs.getString("passenger_phone")
+            ),
+            rs.getObject("booked_at", LocalDateTime.class),
+            BookingStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+
+    private record NameWord(String word, String flightId, String bookingId) {}
+
+    private record NameMatch(String word, Booking booking) {}
+
+    private static final RowMapper<NameMatch> NAME_MATCH_ROW = (rs, rowNum) ->
+            new NameMatch(rs.getString("word"), BOOKING_ROW.mapRow(rs, rowNum));
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public JdbcBookingRepository(JdbcTemplate jdbc) {
+        this(jdbc, new TransactionTemplate(new DataSourceTransactionManager(Objects.requireNonNull(jdbc.getDataSource()))));
+    }
+
+    public JdbcBookingRepository(JdbcTemplate jdbc, TransactionTemplate tx) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+    }
+
+    @Override
+    public void save(Booking booking) {
+        tx.executeWithoutResult(status -> {
+            jdbc.update(INSERT, ps -> bind(ps, booking));
+            insertNameWords(List.of(booking));
+        });
+    }
+
+    /**
+     * Inserts the bookings using prepared-statement batches of {@link #BATCH_SIZE}.
+     *
+     * @param bookings Bookings to persist.
+     */
+    @Override
+    public void saveAll(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) return;
+        tx.executeWithoutResult(status -> {
+            jdbc.batchUpdate(INSERT, bookings, BATCH_SIZE, JdbcBookingRepository::bind);
+            insertNameWords(bookings);
+        });
+    }
+
+    @Override
+    public Optional<Booking> findById(String id) {
+        return jdbc.query(SELECT + " WHERE id = ?", BOOKING_ROW, id).stream().findFirst();
+    }
+
+    /**
+     * Resolves all IDs with one {@code WHERE id IN (...)} query on the primary key.
+     */
+    @Override
+    public List<Booking> findAllById(Collection<String> ids) {
+        var distinct = ids.stream().distinct().toList();
+        if (distinct.isEmpty()) return List.of();
+        return jdbc.query(SELECT + " WHERE id IN (" + placeholders(distinct.size()) + ")",
+                BOOKING_ROW, distinct.toArray());
+    }
+
+    /**
+     * @return {@code ?, ?, ...} with {@code count} placeholders.
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Pages through the name-word index (keyset pagination on {@code (word, booking_id)}) until {@code limit}
+     * distinct bookings matching every prefix are found.
+     */
+    @Override
+    public List<Booking> findByPassengerName(String query, @Nullable String flightId, int limit) {
+        var prefixes = PassengerNameIndex.words(query);
+        if (prefixes.isEmpty() || limit <= 0) return List.of();
+        var like = PassengerNameIndex.lead(prefixes) + "%";
+        var sql = flightId == null ? NAME_SEARCH + NAME_ORDER : NAME_SEARCH + " AND w.flight_id = ?" + NAME_ORDER;
+        int page = Math.min(Math.max(limit * 2, 32), BATCH_SIZE);
+
+        Map<String, Booking> found = new LinkedHashMap<>();
+        String afterWord = "";
+        String afterId = "";
+        while (found.size() < limit) {
+            var rows = flightId == null
+                    ? jdbc.query(sql, NAME_MATCH_ROW, like, afterWord, afterWord, afterId, page)
+                    : jdbc.query(sql, NAME_MATCH_ROW, like, afterWord, afterWord, afterId, flightId, page);
+            for (NameMatch row : rows) {
+                afterWord = row.word();
+                afterId = row.booking().id();
+                if (prefixes.size() == 1 || PassengerNameIndex.matches(prefixes, row.booking())) {
+                    found.putIfAbsent(afterId, row.booking());
+                    if (found.size() == limit) break;
+                }
+            }
+            if (rows.size() < page) break;
+        }
+        return List.copyOf(found.values());
+    }
+
+    /**
+     * The version check is part of the {@code UPDATE}'s {@code WHERE} clause, so check-and-write is atomic in the database.
+     * The name words are replaced in the same transaction.
+     */
+    @Override
+    public Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion) {
+        var sql = """
+                UPDATE bookings SET passenger_name = ?, passenger_email = ?, passenger_phone = ?,
+                    version = version + 1, updated_at = ?
+                WHERE id = ?""";
+        var now = LocalDateTime.now();
+        return tx.execute(status -> {
+            int updated = expectedVersion == ANY_VERSION
+                    ? jdbc.update(sql, newPassenger.name(), newPassenger.email(), newPassenger.phone(), now, bookingId)
+                    : jdbc.update(sql + " AND version = ?",
+                            newPassenger.name(), newPassenger.email(), newPassenger.phone(), now, bookingId, expectedVersion);
+            var current = findById(bookingId);
+            if (updated == 0 && current.isPresent()) {
+                throw new BookingVersionConflictException(current.get(), expectedVersion);
+            }
+            if (updated > 0) current.ifPresent(booking -> {
+                jdbc.update("DELETE FROM booking_name_words WHERE booking_id = ?", bookingId);
+                insertNameWords(List.of(booking));
+            });
+            return current;
+        });
+    }
+
+    /**
+     * The update and the read-back run in one transaction, so a conflict is judged against the row this write saw.
+     */
+    @Override
+    public Optional<Booking> cancel(String bookingId, long expectedVersion) {
+        // no-op for already-cancelled rows, so re-cancelling stays idempotent
+        var sql = "UPDATE bookings SET status = ?, version = version + 1, updated_at = ? WHERE id = ? AND status <> ?";
+        var cancelled = BookingStatus.CANCELLED.name();
+        var now = LocalDateTime.now();
+        return tx.execute(status -> {
+            int updated = expectedVersion == ANY_VERSION
+                    ? jdbc.update(sql, cancelled, now, bookingId, cancelled)
+                    : jdbc.update(sql + " AND version = ?", cancelled, now, bookingId, cancelled, expectedVersion);
+            var current = findById(bookingId);
+            if (updated == 0 && expectedVersion != ANY_VERSION
+                    && current.isPresent() && current.get().version() != expectedVersion) {
+                throw new BookingVersionConflictException(current.get(), expectedVersion);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * One count on the {@code flight_id} index.
+     */
+    @Override
+    public int countConfirmed(String flightId) {
+        var count = jdbc.queryForObject("SELECT COUNT(*) FROM bookings WHERE flight_id = ? AND status = ?",
+                Integer.class, flightId, BookingStatus.CONFIRMED.name());
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        return jdbc.query(SELECT, BOOKING_ROW);
+    }
+
+    private void insertNameWords(Collection<Booking> bookings) {
+        var rows = bookings.stream()
+                .flatMap(booking -> PassengerNameIndex.words(booking.passenger().name()).stream()
+                        .map(word -> new NameWord(word, booking.flightId(), booking.id())))
+                .toList();
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate(INSERT_WORD, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.word());
+            ps.setString(2, row.flightId());
+            ps.setString(3, row.bookingId());
+        });
+    }
+
+    private static void bind(PreparedStatement ps, Booking booking) throws SQLException {
+        ps.setString(1, booking.id());
+        ps.setString(2, booking.flightId());
+        ps.setString(3, booking.passenger().name());
+        ps.setString(4, booking.passenger().email());
+        ps.setString(5, booking.passenger().phone());
+        ps.setObject(6, booking.bookedAt());
+        ps.setString(7, booking.status().name());
+        ps.setLong(8, booking.version());
+        ps.setObject(9, booking.updatedAt());
+    }
+}
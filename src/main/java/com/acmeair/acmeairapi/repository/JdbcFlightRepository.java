@@ -0,0 +1,129 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Flight;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relational flight repository. Route search is served by the
+ * {@code (origin_key, destination_key, departure_time)} index, where the keys are
+ * upper-cased copies of origin/destination so lookups stay case-insensitive.
+ */
+public class JdbcFlightRepository implements FlightRepository {
+
+    private static final String INSERT = """
+            INSERT INTO flights (id, origin, destination, origin_key, destination_key, departure_time, arrival_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT = """
+            SELECT id, origin, destination, departure_time, arrival_time
+            FROM flights
+            """;
+
+    private static final RowMapper<Flight> FLIGHT_ROW = (rs, rowNum) -> new Flight(
+            rs.getString("id"),
+            rs.getString("origin"),
+            rs.getString("destination"),
+            rs.getObject("departure_time", LocalDateTime.class),
+            rs.getObject("arrival_time", LocalDateTime.class)
+    );
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final TimetableGate gate = new TimetableGate();
+    private final AtomicLong version = new AtomicLong();
+
+    public JdbcFlightRepository(JdbcTemplate jdbc, TransactionTemplate tx) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+    }
+
+    /**
+     * Loads the deterministic fixture timetable synchronously.
+     */
+    public void init() {
+        replaceAll(FlightSeed.defaultSeed());
+    }
+
+    /**
+     * Swaps the timetable in a single transaction so searches never see a half-loaded table.
+     *
+     * @param seed List of flights to load.
+     */
+    @Override
+    public void replaceAll(Collection<Flight> seed) {
+        var rows = new ArrayList<>(seed);
+        tx.executeWithoutResult(status -> {
+            jdbc.update("DELETE FROM flights");
+            jdbc.batchUpdate(INSERT, rows, JdbcBookingRepository.BATCH_SIZE, (ps, flight) -> {
+                ps.setString(1, flight.id());
+                ps.setString(2, flight.origin());
+                ps.setString(3, flight.destination());
+                ps.setString(4, key(flight.origin()));
+                ps.setString(5, key(flight.destination()));
+                ps.setObject(6, flight.departureTime());
+                ps.setObject(7, flight.arrivalTime());
+            });
+        });
+        version.incrementAndGet();
+        gate.open();
+    }
+
+    @Override
+    public List<Flight> search(String origin, String destination) {
+        gate.await();
+        return jdbc.query(
+                SELECT + " WHERE origin_key = ? AND destination_key = ? ORDER BY departure_time",
+                FLIGHT_ROW, key(origin), key(destination)
+        );
+    }
+
+    @Override
+    public Optional<Flight> findById(String id) {
+        gate.await();
+        return jdbc.query(SELECT + " WHERE id = ?", FLIGHT_ROW, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Flight> findAllById(Collection<String> ids) {
+        gate.await();
+        var distinct = ids.stream().distinct().toList();
+        if (distinct.isEmpty()) return List.of();
+        return jdbc.query(SELECT + " WHERE id IN (" + JdbcBookingRepository.placeholders(distinct.size()) + ")",
+                FLIGHT_ROW, distinct.toArray());
+    }
+
+    @Override
+    public List<Flight> findAll() {
+        gate.await();
+        return jdbc.query(SELECT, FLIGHT_ROW);
+    }
+
+    /**
+     * Counts swaps made through this repository; writes to the {@code flights} table from
+     * elsewhere aren't seen.
+     */
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return gate.isOpen();
+    }
+
+    private static String key(String airport) {
+        return airport.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,38 @@
+package com.acmeair.acmeairapi.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Wires the relational repositories when {@code acmeair.storage=jdbc}.
+ * The connection pool (HikariCP) and schema initialisation come from the
+ * {@code spring.datasource.*} / {@code spring.sql.init.*} settings in {@code application-jdbc.properties}.
+ * <p>
+ * Bookings are read through a {@link CachingBookingRepository} sized by
+ * {@code acmeair.bookings.cache.max-size} (a data size such as {@code 64MB}; {@code 0} disables the cache).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "acmeair.storage", havingValue = "jdbc")
+public class JdbcStorageConfiguration {
+
+    @Bean
+    public FlightRepository jdbcFlightRepository(JdbcTemplate jdbc, TransactionTemplate tx) {
+        return new JdbcFlightRepository(jdbc, tx);
+    }
+
+    @Bean
+    public BookingRepository jdbcBookingRepository(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            @Value("${acmeair.bookings.cache.max-size:64MB}") DataSize cacheSize
+    ) {
+        var store = new JdbcBookingRepository(jdbc, tx);
+        if (cacheSize.toBytes() <= 0) return store;
+        return new CachingBookingRepository(store, cacheSize.toBytes());
+    }
+}
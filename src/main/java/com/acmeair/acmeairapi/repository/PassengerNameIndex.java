@@ -0,0 +1,176 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import org.springframework.lang.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Word-prefix index over passenger names, for booking search by partial name.
+ * <p>
+ * Names are split into words folded to lower case without accents or apostrophes, so "smi",
+ * "SMI" and "Smí" all find "John Smith", and "obr" finds "O'Brien". Every word is kept in a
+ * sorted concurrent set twice, as a composite {@code scope \0 word \0 bookingId} string key: once
+ * with an empty scope (all flights) and once scoped to the booking's flight. A prefix lookup is a
+ * range scan from the first key at or after {@code scope \0 prefix}, so it only visits the results
+ * it returns (plus duplicates and multi-word mismatches). Keys are flat strings rather than
+ * records because comparisons then touch one array instead of three. Updates are per booking and
+ * ordered by version, so a stale write never overwrites a newer one.
+ */
+final class PassengerNameIndex {
+
+    private static final String ALL_FLIGHTS = "";
+    private static final char SEPARATOR = '\0';
+
+    /**
+     * What is indexed for a booking, so the next version can remove exactly that.
+     */
+    private record Entry(long version, String flightId, List<String> words) {}
+
+    private final ConcurrentSkipListSet<String> keys = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a new or changed booking, unless a newer version of it is already indexed.
+     */
+    void index(Booking booking) {
+        var words = words(booking.passenger() == null ? null : booking.passenger().name());
+        entries.compute(booking.id(), (id, indexed) -> {
+            if (indexed != null && indexed.version() > booking.version()) return indexed;
+            if (indexed != null) {
+                indexed.words().stream()
+                        .filter(word -> !words.contains(word) || !indexed.flightId().equals(booking.flightId()))
+                        .forEach(word -> unlink(id, indexed.flightId(), word));
+            }
+            words.forEach(word -> {
+                keys.add(key(ALL_FLIGHTS, word, id));
+                keys.add(key(booking.flightId(), word, id));
+            });
+            return new Entry(booking.version(), booking.flightId(), words);
+        });
+    }
+
+    /**
+     * Drops a booking from the index, unless a newer version of it has been indexed since.
+     */
+    void remove(Booking booking) {
+        entries.computeIfPresent(booking.id(), (id, indexed) -> {
+            if (indexed.version() > booking.version()) return indexed;
+            indexed.words().forEach(word -> unlink(id, indexed.flightId(), word));
+            return null;
+        });
+    }
+
+    /**
+     * @param query    One or more name prefixes; each must start some word of the name.
+     * @param flightId Only bookings on this flight, or {@code null} for all flights.
+     * @param limit    Max IDs to return.
+     * @return IDs of matching bookings, ordered by the name word matched by the longest prefix, then by ID.
+     */
+    List<String> search(String query, @Nullable String flightId, int limit) {
+        var prefixes = words(query);
+        if (prefixes.isEmpty() || limit <= 0) return List.of();
+        var scope = flightId == null ? ALL_FLIGHTS : flightId;
+        var lead = lead(prefixes);
+
+        var from = scope + SEPARATOR + lead;
+        Set<String> found = new LinkedHashSet<>();
+        for (String key : keys.tailSet(from)) {
+            if (!key.startsWith(from)) break;
+            var bookingId = key.substring(key.lastIndexOf(SEPARATOR) + 1);
+            if (found.contains(bookingId)) continue; // several words of one name share the prefix
+            if (prefixes.size() > 1) {
+                var indexed = entries.get(bookingId);
+                if (indexed == null || !matches(prefixes, indexed.words())) continue;
+            }
+            found.add(bookingId);
+            if (found.size() == limit) break;
+        }
+        return List.copyOf(found);
+    }
+
+    private void unlink(String bookingId, String flightId, String word) {
+        keys.remove(key(ALL_FLIGHTS, word, bookingId));
+        keys.remove(key(flightId, word, bookingId));
+    }
+
+    private static String key(String scope, String word, String bookingId) {
+        return scope + SEPARATOR + word + SEPARATOR + bookingId;
+    }
+
+    /**
+     * Splits text into distinct folded words: lower case, accents and apostrophes removed,
+     * anything other than letters and digits treated as a separator.
+     */
+    static List<String> words(@Nullable String text) {
+        if (text == null) return List.of();
+        var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD); // "í" -> "i" + combining accent
+        List<String> words = new ArrayList<>(4);
+        var word = new StringBuilder();
+        for (int i = 0; i <= decomposed.length(); i++) {
+            char c = i < decomposed.length() ? decomposed.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!isIgnorable(c) && !word.isEmpty()) {
+                var folded = word.toString();
+                if (!words.contains(folded)) words.add(folded);
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Accents and apostrophes: dropped without splitting the word.
+     */
+    private static boolean isIgnorable(char c) {
+        return c == '\'' || c == '’' || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    /**
+     * @return Whether every prefix starts some word.
+     */
+    static boolean matches(List<String> prefixes, List<String> words) {
+        return prefixes.stream().allMatch(prefix -> words.stream().anyMatch(word -> word.startsWith(prefix)));
+    }
+
+    /**
+     * @return Whether the booking's passenger name matches every prefix.
+     */
+    static boolean matches(List<String> prefixes, Booking booking) {
+        return booking.passenger() != null && matches(prefixes, words(booking.passenger().name()));
+    }
+
+    /**
+     * The prefix to scan for; the longest is usually the most selective.
+     */
+    static String lead(List<String> prefixes) {
+        return prefixes.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+    }
+
+    /**
+     * Orders bookings found without the index the same way {@link #search} does.
+     */
+    static Comparator<Booking> order(List<String> prefixes) {
+        var lead = lead(prefixes);
+        return Comparator.comparing((Booking booking) -> words(booking.passenger().name()).stream()
+                        .filter(word -> word.startsWith(lead))
+                        .min(Comparator.naturalOrder())
+                        .orElse(""))
+                .thenComparing(Booking::id);
+    }
+
+    static Stream<Booking> filter(Stream<Booking> bookings, List<String> prefixes, @Nullable String flightId) {
+        return bookings
+                .filter(booking -> flightId == null || flightId.equals(booking.flightId()))
+                .filter(booking -> matches(prefixes, booking));
+    }
+}
@@ -0,0 +1,42 @@
+package com.acmeair.acmeairapi.repository;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds flight reads back until the first timetable has been loaded.
+ * The timetable loads in the background at startup, so a request that slips in
+ * before readiness waits for it instead of seeing an empty timetable.
+ */
+final class TimetableGate {
+
+    static final Duration LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    void open() {
+        loaded.countDown();
+    }
+
+    boolean isOpen() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * Returns once the timetable is loaded.
+     *
+     * @throws IllegalStateException if it isn't loaded within {@link #LOAD_TIMEOUT}.
+     */
+    void await() {
+        if (isOpen()) return;
+        try {
+            if (!loaded.await(LOAD_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timetable still loading after " + LOAD_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the timetable to load", e);
+        }
+    }
+}
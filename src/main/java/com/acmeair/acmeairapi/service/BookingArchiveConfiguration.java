@@ -0,0 +1,45 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.repository.BookingArchive;
+import com.acmeair.acmeairapi.repository.FlightRepository;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Enables tiered archival of old bookings for the in-memory store when
+ * {@code acmeair.bookings.archive.enabled=true}. The relational backend keeps
+ * bookings off-heap already, so this only applies to {@code acmeair.storage=memory}.
+ * <p>
+ * Without {@code acmeair.bookings.archive.directory} the archive lives in a temporary directory of its own,
+ * deleted on shutdown, like the in-memory bookings it extends. A configured directory must not be shared
+ * with other instances.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "acmeair.storage", havingValue = "memory", matchIfMissing = true)
+public class BookingArchiveConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "acmeair.bookings.archive.enabled", havingValue = "true")
+    public BookingArchive bookingArchive(@Value("${acmeair.bookings.archive.directory:}") String directory) {
+        return directory.isBlank() ? BookingArchive.temporary() : new BookingArchive(Path.of(directory));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "acmeair.bookings.archive.enabled", havingValue = "true")
+    public BookingSweeper bookingSweeper(
+            InMemoryBookingRepository bookings,
+            FlightRepository flights,
+            @Value("${acmeair.bookings.archive.retention:P30D}") Duration retention,
+            @Value("${acmeair.bookings.archive.cancelled-grace:P7D}") Duration cancelledGrace,
+            @Value("${acmeair.bookings.archive.batch-size:1000}") int batchSize
+    ) {
+        return new BookingSweeper(bookings, flights, retention, cancelledGrace, batchSize, Clock.systemDefaultZone());
+    }
+}
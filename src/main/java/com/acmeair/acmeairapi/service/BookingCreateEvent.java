@@ -0,0 +1,41 @@
+package com.acmeair.acmeairapi.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering one {@link BookingService#createBooking} call, split into flight lookup
+ * and persistence time, with the number of contended seat reservation retries. Disabled by default, so only recordings
+ * that name it (such as {@link FlightRecorderService}'s) capture it.
+ */
+@Name("com.acmeair.BookingCreate")
+@Label("Create Booking")
+@Category({"Acme Air", "Bookings"})
+@Description("Creating a booking: flight lookup, seat reservation and persistence")
+@StackTrace(false)
+@Enabled(false)
+class BookingCreateEvent extends jdk.jfr.Event {
+
+    @Label("Flight ID")
+    String flightId;
+
+    @Label("Flight Found")
+    boolean flightFound;
+
+    @Label("Flight Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long flightLookupTime;
+
+    @Label("Persistence Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long persistenceTime;
+
+    @Label("Reservation Retries")
+    @Description("Times the seat reservation lost a race with another booking and retried")
+    int reservationRetries;
+}
@@ -2,50 +2,236 @@ package com.acmeair.acmeairapi.service;
 
 import com.acmeair.acmeairapi.domain.Booking;
 import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.BookingStatusChangedEvent;
 import com.acmeair.acmeairapi.domain.Passenger;
+import com.acmeair.acmeairapi.domain.WaitlistEntry;
 import com.acmeair.acmeairapi.repository.BookingRepository;
+import com.acmeair.acmeairapi.repository.BookingVersionConflictException;
+import com.acmeair.acmeairapi.repository.CachingBookingRepository;
 import com.acmeair.acmeairapi.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Business logic for creating and managing flight bookings.
+ * <p>
+ * When a capacity is configured, every confirmed booking holds a seat in the {@link SeatInventory}. Once a flight is full,
+ * passengers can join its {@link Waitlist}. Cancelling a booking doesn't free its seat straight
+ * away; the seat is queued for {@link #promoteWaitlisted(int)}, which gives it to the next
+ * waitlisted passenger, or puts it back on sale if nobody is waiting.
  */
 @Service
 public class BookingService {
 
     private final FlightRepository flightRepository;
     private final BookingRepository bookingRepository;
+    private final SeatInventory seats;
+    private final Waitlist waitlist;
+    private final ApplicationEventPublisher events;
 
     public BookingService(FlightRepository flightRepository, BookingRepository bookingRepository) {
+        this(flightRepository, bookingRepository, new SeatInventory(SeatInventory.UNLIMITED), new Waitlist(), event -> {});
+    }
+
+    @Autowired
+    public BookingService(
+            FlightRepository flightRepository,
+            BookingRepository bookingRepository,
+            SeatInventory seats,
+            Waitlist waitlist,
+            ApplicationEventPublisher events
+    ) {
         this.flightRepository = flightRepository;
         this.bookingRepository = bookingRepository;
+        this.seats = seats;
+        this.waitlist = waitlist;
+        this.events = events;
     }
 
     /**
-     * Creates a booking if the flight exists.
+     * Seats and waitlist for one flight.
+     *
+     * @param flightId       Flight identifier.
+     * @param seatsAvailable Seats that can be booked right now, or {@code null} if capacity isn't enforced.
+     * @param waiting        Passengers on the waitlist.
+     */
+    public record WaitlistStatus(String flightId, @Nullable Integer seatsAvailable, int waiting) {}
+
+    /**
+     * Creates a booking if the flight exists and has a seat free.
      *
      * @param flightId ID of the flight to book.
      * @param passenger Passenger details.
-     * @return Optional booking if successful.
+     * @return Optional booking if successful, empty if the flight doesn't exist.
+     * @throws FlightFullException if no seat is free. Seats released by cancellations stay held until the
+     *         promoter has offered them to the waitlist, so they never count as free here.
      */
     public Optional<Booking> createBooking(String flightId, Passenger passenger) {
+        // timings are only taken while a recording has the event enabled
+        var event = new BookingCreateEvent();
+        event.begin();
+        boolean timed = event.isEnabled();
+        long started = timed ? System.nanoTime() : 0;
+
         // check that the flight exists
         var flight = flightRepository.findById(flightId);
-        if (flight.isEmpty()) return Optional.empty();
+        long lookedUp = timed ? System.nanoTime() : 0;
+        if (flight.isEmpty()) {
+            commit(event, flightId, false, lookedUp - started, 0, 0);
+            return Optional.empty();
+        }
+
+        // seats freed by cancellations are still held until the promoter has offered them to the waitlist
+        int retries = seats.tryReserve(flightId);
+        if (retries == SeatInventory.NO_SEAT) {
+            commit(event, flightId, true, lookedUp - started, 0, 0);
+            throw new FlightFullException(flightId);
+        }
+
+        var booking = newBooking(flightId, passenger, LocalDateTime.now());
+        try {
+            bookingRepository.save(booking);
+        } catch (RuntimeException e) {
+            seats.release(flightId);
+            throw e;
+        }
+        long saved = timed ? System.nanoTime() : 0;
+        commit(event, flightId, true, lookedUp - started, saved - lookedUp, retries);
+        return Optional.of(booking);
+    }
+
+    private static void commit(BookingCreateEvent event, String flightId, boolean found,
+                               long lookupNanos, long persistNanos, int retries) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.flightId = flightId;
+            event.flightFound = found;
+            event.flightLookupTime = lookupNanos;
+            event.persistenceTime = persistNanos;
+            event.reservationRetries = retries;
+            event.commit();
+        }
+    }
+
+    /**
+     * Adds a passenger to a flight's waitlist. If a seat is free by the time they join, it is
+     * handed to the waitlist straight away, so nobody waits behind an empty seat.
+     *
+     * @param flightId ID of the flight to wait for.
+     * @param passenger Passenger details.
+     * @return Optional waitlist entry, empty if the flight doesn't exist.
+     */
+    public Optional<WaitlistEntry> joinWaitlist(String flightId, Passenger passenger) {
+        if (flightRepository.findById(flightId).isEmpty()) return Optional.empty();
+
+        var entry = new WaitlistEntry(UUID.randomUUID().toString(), flightId, passenger, LocalDateTime.now());
+        waitlist.add(entry);
+        if (seats.tryReserve(flightId) != SeatInventory.NO_SEAT) {
+            waitlist.seatReleased(flightId);
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Takes a passenger off a flight's waitlist. A seat already set aside for them goes to the next
+     * passenger, or back on sale.
+     *
+     * @param flightId Flight the passenger is waiting for.
+     * @param entryId  Waitlist entry identifier.
+     * @return Whether the entry was still waiting.
+     */
+    public boolean leaveWaitlist(String flightId, String entryId) {
+        return waitlist.remove(flightId, entryId);
+    }
+
+    /**
+     * Drops the waitlists of flights that have departed (or are no longer in the timetable);
+     * nobody on them can be booked any more.
+     *
+     * @param now Current time.
+     * @return Number of waitlist entries dropped.
+     */
+    public int dropDepartedWaitlists(LocalDateTime now) {
+        int dropped = 0;
+        for (var flightId : List.copyOf(waitlist.flights())) {
+            boolean departed = flightRepository.findById(flightId)
+                    .map(flight -> flight.departureTime().isBefore(now))
+                    .orElse(true);
+            if (departed) dropped += waitlist.drop(flightId);
+        }
+        return dropped;
+    }
+
+    /**
+     * Seats and waitlist length for a flight.
+     *
+     * @param flightId Flight identifier.
+     * @return Optional status, empty if the flight doesn't exist.
+     */
+    public Optional<WaitlistStatus> waitlistStatus(String flightId) {
+        if (flightRepository.findById(flightId).isEmpty()) return Optional.empty();
+        return Optional.of(new WaitlistStatus(flightId, seats.available(flightId), waitlist.waitingCount(flightId)));
+    }
+
+    /**
+     * Hands released seats to waitlisted passengers, oldest first. The new bookings are saved as
+     * one batch, and each promotion is published as a {@link BookingStatusChangedEvent} from
+     * {@link BookingStatus#WAITLISTED} to {@link BookingStatus#CONFIRMED}. Released seats with
+     * nobody waiting go back on sale.
+     *
+     * @param batchSize Max released seats to process.
+     * @return Number of passengers promoted.
+     */
+    public int promoteWaitlisted(int batchSize) {
+        var now = LocalDateTime.now();
+        List<WaitlistEntry> promotedEntries = new ArrayList<>();
+        List<Booking> promoted = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            var flightId = waitlist.pollReleasedSeat();
+            if (flightId == null) break;
+            var next = waitlist.pollNext(flightId);
+            if (next.isEmpty()) {
+                seats.release(flightId);
+                continue;
+            }
+            promotedEntries.add(next.get());
+            promoted.add(newBooking(flightId, next.get().passenger(), now));
+        }
+        if (promoted.isEmpty()) return 0;
+
+        try {
+            bookingRepository.saveAll(promoted);
+        } catch (RuntimeException e) {
+            // keep the passengers and their seats for the next run (they go to the back of the queue)
+            promotedEntries.forEach(entry -> {
+                waitlist.add(entry);
+                waitlist.seatReleased(entry.flightId());
+            });
+            throw e;
+        }
+        promoted.forEach(booking -> events.publishEvent(new BookingStatusChangedEvent(booking, BookingStatus.WAITLISTED)));
+        return promoted.size();
+    }
 
-        var booking = new Booking(
-                BookingRepository.newId(),
+    private Booking newBooking(String flightId, Passenger passenger, LocalDateTime now) {
+        return new Booking(
+                bookingRepository.newId(flightId),
                 flightId,
                 passenger,
-                LocalDateTime.now(),
-                BookingStatus.CONFIRMED
+                now,
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                now
         );
-        bookingRepository.save(booking);
-        return Optional.of(booking);
     }
 
     /**
@@ -59,6 +245,19 @@ public class BookingService {
         return bookingRepository.updatePassenger(bookingId, passenger);
     }
 
+    /**
+     * Updates the passenger information only if the booking is still at the expected version.
+     *
+     * @param bookingId ID of the booking to update.
+     * @param passenger New passenger info.
+     * @param expectedVersion Version the client last saw, or {@link BookingRepository#ANY_VERSION}.
+     * @return Optional booking with updated passenger.
+     * @throws com.acmeair.acmeairapi.repository.BookingVersionConflictException if the booking changed since.
+     */
+    public Optional<Booking> updatePassenger(String bookingId, Passenger passenger, long expectedVersion) {
+        return bookingRepository.updatePassenger(bookingId, passenger, expectedVersion);
+    }
+
     /**
      * Retrieves a booking by ID.
      *
@@ -69,6 +268,28 @@ public class BookingService {
         return bookingRepository.findById(id);
     }
 
+    /**
+     * Retrieves several bookings in one call.
+     *
+     * @param ids Booking identifiers.
+     * @return Bookings that were found, in no particular order.
+     */
+    public List<Booking> findAllById(Collection<String> ids) {
+        return bookingRepository.findAllById(ids);
+    }
+
+    /**
+     * Finds bookings by partial passenger name.
+     *
+     * @param name Name prefixes, e.g. "smi" or "j smi".
+     * @param flightId Only bookings on this flight, or {@code null} for all flights.
+     * @param limit Max bookings to return.
+     * @return Matching bookings, ordered by the matched name word and then by ID.
+     */
+    public List<Booking> searchByPassengerName(String name, @Nullable String flightId, int limit) {
+        return bookingRepository.findByPassengerName(name, flightId, limit);
+    }
+
     /**
      * Cancels an existing booking.
      *
@@ -76,7 +297,39 @@ public class BookingService {
      * @return Optional cancelled booking if found.
      */
     public Optional<Booking> cancel(String id) {
-        return bookingRepository.cancel(id);
+        return cancel(id, BookingRepository.ANY_VERSION);
+    }
+
+    /**
+     * Cancels an existing booking only if it is still at the expected version.
+     *
+     * @param id Booking identifier.
+     * @param expectedVersion Version the client last saw, or {@link BookingRepository#ANY_VERSION}.
+     * @return Optional cancelled booking if found.
+     * @throws com.acmeair.acmeairapi.repository.BookingVersionConflictException if the booking changed since.
+     */
+    public Optional<Booking> cancel(String id, long expectedVersion) {
+        while (true) {
+            var current = bookingRepository.findById(id);
+            if (current.isEmpty() || current.get().status() == BookingStatus.CANCELLED) {
+                return bookingRepository.cancel(id, expectedVersion); // nothing to release
+            }
+            // count the flight's seats before the cancel lands, so the stored count still includes this one
+            seats.track(current.get().flightId());
+            // cancel against the version we saw confirmed, so exactly one caller releases the seat
+            long version = expectedVersion == BookingRepository.ANY_VERSION ? current.get().version() : expectedVersion;
+            try {
+                var cancelled = bookingRepository.cancel(id, version);
+                cancelled.ifPresent(booking -> {
+                    waitlist.seatReleased(booking.flightId());
+                    events.publishEvent(new BookingStatusChangedEvent(booking, BookingStatus.CONFIRMED));
+                });
+                return cancelled;
+            } catch (BookingVersionConflictException e) {
+                if (expectedVersion != BookingRepository.ANY_VERSION) throw e;
+                // changed under us; look again
+            }
+        }
     }
 
     /**
@@ -87,4 +340,16 @@ public class BookingService {
     public List<Booking> getAllBookings() {
         return bookingRepository.getAllBookings();
     }
+
+    /**
+     * Statistics for the booking cache, if the configured storage has one.
+     *
+     * @return Optional cache statistics.
+     */
+    public Optional<CachingBookingRepository.Stats> cacheStats() {
+        if (bookingRepository instanceof CachingBookingRepository cache) {
+            return Optional.of(cache.stats());
+        }
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,30 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.BookingStatusChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs booking status changes. This is where passenger notifications (e-mail, SMS, push) would be
+ * sent; until then a promotion off the waitlist is at least recorded at INFO, so operators can see who
+ * got a seat. Listeners run on the publishing thread, so anything slower than logging belongs on an executor.
+ */
+@Component
+public class BookingStatusLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStatusLogger.class);
+
+    @EventListener
+    public void statusChanged(BookingStatusChangedEvent event) {
+        var booking = event.booking();
+        if (event.previousStatus() == BookingStatus.WAITLISTED) {
+            log.info("Waitlisted passenger confirmed: booking {} on flight {}", booking.id(), booking.flightId());
+        } else {
+            log.debug("Booking {} on flight {} changed from {} to {}",
+                    booking.id(), booking.flightId(), event.previousStatus(), booking.status());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.repository.FlightRepository;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Background job that keeps the in-memory booking set bounded by moving bookings
+ * nobody needs hot any more into the on-disk archive:
+ * <ul>
+ *     <li>bookings whose flight arrived more than {@code retention} ago, and</li>
+ *     <li>cancelled bookings last changed more than {@code cancelledGrace} ago.</li>
+ * </ul>
+ * Each run examines at most {@code batchSize} bookings, continuing where the last run
+ * stopped, so a sweep is many small steps on the scheduler thread rather than one long pause.
+ */
+public class BookingSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSweeper.class);
+
+    private final InMemoryBookingRepository bookings;
+    private final FlightRepository flights;
+    private final Duration retention;
+    private final Duration cancelledGrace;
+    private final int batchSize;
+    private final Clock clock;
+
+    public BookingSweeper(
+            InMemoryBookingRepository bookings,
+            FlightRepository flights,
+            Duration retention,
+            Duration cancelledGrace,
+            int batchSize,
+            Clock clock
+    ) {
+        this.bookings = bookings;
+        this.flights = flights;
+        this.retention = retention;
+        this.cancelledGrace = cancelledGrace;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs one incremental sweep step.
+     *
+     * @return Number of bookings archived.
+     */
+    @Scheduled(
+            initialDelayString = "${acmeair.bookings.archive.sweep-interval:PT5S}",
+            fixedDelayString = "${acmeair.bookings.archive.sweep-interval:PT5S}"
+    )
+    public int sweep() {
+        var now = LocalDateTime.now(clock);
+        var arrivedBefore = now.minus(retention);
+        var cancelledBefore = now.minus(cancelledGrace);
+        Map<String, Optional<Flight>> flightCache = new HashMap<>(); // one lookup per flight per step
+
+        int moved = bookings.archiveExpired(booking -> {
+            if (booking.status() == BookingStatus.CANCELLED && booking.updatedAt().isBefore(cancelledBefore)) {
+                return true;
+            }
+            return flightCache.computeIfAbsent(booking.flightId(), flights::findById)
+                    .map(flight -> flight.arrivalTime().isBefore(arrivedBefore))
+                    .orElse(false);
+        }, batchSize);
+
+        if (moved > 0) {
+            log.debug("Archived {} bookings, {} still in memory", moved, bookings.hotSize());
+        }
+        return moved;
+    }
+}
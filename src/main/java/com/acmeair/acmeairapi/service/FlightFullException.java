@@ -0,0 +1,22 @@
+package com.acmeair.acmeairapi.service;
+
+/**
+ * Thrown when a booking is requested for a flight with no seats left, or whose freed seats are
+ * reserved for passengers already on its waitlist.
+ */
+public class FlightFullException extends RuntimeException {
+
+    private final String flightId;
+
+    public FlightFullException(String flightId) {
+        super("Flight " + flightId + " is full");
+        this.flightId = flightId;
+    }
+
+    /**
+     * @return ID of the full flight.
+     */
+    public String flightId() {
+        return flightId;
+    }
+}
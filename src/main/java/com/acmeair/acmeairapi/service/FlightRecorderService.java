@@ -0,0 +1,155 @@
+package com.acmeair.acmeairapi.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * On-demand Java Flight Recorder sessions for diagnosing latency in production.
+ * <p>
+ * A recording uses the JDK {@code profile} settings with the Acme Air events
+ * ({@code com.acmeair.*}) switched on, and with the events that capture process metadata
+ * (environment variables, system properties, command lines) switched off, since those can hold credentials.
+ * Only one recording runs at a time. Each recording stops by itself after {@code acmeair.profiling.max-duration}
+ * and keeps at most {@code acmeair.profiling.max-size} of data on disk, so a forgotten recording can't fill the disk.
+ * Disabled unless {@code acmeair.profiling.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "acmeair.profiling.enabled", havingValue = "true")
+public class FlightRecorderService {
+
+    /**
+     * Events left out of every recording: they dump the environment, system and security properties,
+     * JVM and program arguments, flag values and other processes' command lines.
+     */
+    static final List<String> PROCESS_METADATA_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.SecurityPropertyModification",
+            "jdk.JVMInformation",
+            "jdk.StringFlag",
+            "jdk.StringFlagChanged",
+            "jdk.SystemProcess",
+            "jdk.ProcessStart"
+    );
+
+    /**
+     * The Acme Air events, which are {@code @Enabled(false)} so that other recordings skip them.
+     */
+    static final List<String> ACME_AIR_EVENTS = List.of("com.acmeair.BookingCreate", "com.acmeair.FlightSearch");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private Recording recording;
+
+    public FlightRecorderService(
+            @Value("${acmeair.profiling.max-duration:PT5M}") Duration maxDuration,
+            @Value("${acmeair.profiling.max-size:64MB}") DataSize maxSize
+    ) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Summary of a recording session.
+     */
+    public record RecordingInfo(long id, Instant startedAt, Duration duration, long maxBytes, String state) {}
+
+    /**
+     * Starts a recording unless one is already in progress.
+     *
+     * @param duration Requested length; capped at the configured maximum.
+     * @return Info for the new recording, or empty if another recording hasn't been collected yet.
+     */
+    public synchronized Optional<RecordingInfo> start(Duration duration) {
+        if (recording != null) return Optional.empty();
+
+        var bounded = duration == null || duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0
+                ? maxDuration
+                : duration;
+        var next = new Recording(recordingSettings());
+        next.setName("acmeair-on-demand");
+        next.setToDisk(true);
+        next.setMaxSize(maxSize.toBytes());
+        next.setDuration(bounded);
+        next.start();
+        recording = next;
+        return Optional.of(info(next));
+    }
+
+    /**
+     * @return The current recording, if any.
+     */
+    public synchronized Optional<RecordingInfo> current() {
+        return Optional.ofNullable(recording).map(FlightRecorderService::info);
+    }
+
+    /**
+     * Stops the current recording (if it hasn't already reached its duration) and dumps it to a
+     * temporary {@code .jfr} file. The caller owns the file and should delete it once it has been sent.
+     *
+     * @return Path of the dumped recording, or empty if no recording was started.
+     */
+    public synchronized Optional<Path> stop() {
+        if (recording == null) return Optional.empty();
+        var finished = recording;
+        recording = null;
+        try {
+            if (finished.getState() == RecordingState.RUNNING) {
+                finished.stop();
+            }
+            var file = Files.createTempFile("acmeair-", ".jfr");
+            finished.dump(file);
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording", e);
+        } finally {
+            finished.close();
+        }
+    }
+
+    /**
+     * The JDK {@code profile} settings with {@link #ACME_AIR_EVENTS} and without {@link #PROCESS_METADATA_EVENTS}.
+     */
+    static Map<String, String> recordingSettings() {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR 'profile' settings are not available", e);
+        }
+        ACME_AIR_EVENTS.forEach(event -> {
+            settings.put(event + "#enabled", "true");
+            settings.put(event + "#threshold", "0 ns");
+        });
+        PROCESS_METADATA_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+        return settings;
+    }
+
+    private static RecordingInfo info(Recording recording) {
+        return new RecordingInfo(
+                recording.getId(),
+                recording.getStartTime(),
+                recording.getDuration(),
+                recording.getMaxSize(),
+                recording.getState().name()
+        );
+    }
+}
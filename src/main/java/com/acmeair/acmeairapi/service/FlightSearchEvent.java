@@ -0,0 +1,31 @@
+package com.acmeair.acmeairapi.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one route search, whether answered by the flight repository or by the
+ * precompressed listing cache in front of it. Disabled by default, so only recordings
+ * that name it (such as {@link FlightRecorderService}'s) capture it.
+ */
+@Name("com.acmeair.FlightSearch")
+@Label("Flight Search")
+@Category({"Acme Air", "Flights"})
+@Description("Route search, from the flight repository or the listing cache")
+@StackTrace(false)
+@Enabled(false)
+class FlightSearchEvent extends jdk.jfr.Event {
+
+    @Label("Origin")
+    String origin;
+
+    @Label("Destination")
+    String destination;
+
+    @Label("Result Count")
+    int resultCount;
+}
@@ -4,8 +4,11 @@ import com.acmeair.acmeairapi.domain.Flight;
 import com.acmeair.acmeairapi.repository.FlightRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 @Service
 public class FlightService {
@@ -17,6 +20,35 @@ public class FlightService {
     }
 
     public List<Flight> searchFlights(String origin, String destination) {
+        return recordSearch(origin, destination, () -> findRoute(origin, destination), List::size);
+    }
+
+    /**
+     * Runs a route search and records it as a {@code com.acmeair.FlightSearch} JFR event, when a recording
+     * has the event enabled. Callers that answer searches from a cache use this around the cache lookup, with
+     * {@link #findRoute} on a miss, so every search is recorded once whether or not it reached the repository.
+     *
+     * @param lookup      Produces the result.
+     * @param resultCount Number of flights in the result.
+     */
+    public <T> T recordSearch(String origin, String destination, Supplier<T> lookup, ToIntFunction<T> resultCount) {
+        var event = new FlightSearchEvent();
+        event.begin();
+        var result = lookup.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.origin = origin;
+            event.destination = destination;
+            event.resultCount = resultCount.applyAsInt(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Route search straight against the repository, without recording an event.
+     */
+    public List<Flight> findRoute(String origin, String destination) {
         return storage.search(origin, destination);
     }
 
@@ -24,7 +56,15 @@ public class FlightService {
         return storage.findById(id);
     }
 
+    public List<Flight> getFlightsById(Collection<String> ids) {
+        return storage.findAllById(ids);
+    }
+
     public List<Flight> getAllFlights() {
         return storage.findAll();
     }
+
+    public long timetableVersion() {
+        return storage.version();
+    }
 }
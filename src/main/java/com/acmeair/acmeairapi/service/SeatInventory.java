@@ -0,0 +1,132 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tracks how many seats are held on each flight, against a capacity shared by all flights
+ * ({@code acmeair.flights.capacity}). Reservations are a compare-and-set on a per-flight counter,
+ * so booking never takes a lock.
+ * <p>
+ * Enforcement is opt-in: without {@code acmeair.flights.capacity} the capacity is {@link #UNLIMITED},
+ * every reservation succeeds and nothing is counted.
+ * <p>
+ * Counts live in this process. Each flight's count starts from its confirmed bookings in storage
+ * the first time the flight is touched, so a restart against a database doesn't sell the seats again.
+ * After that, bookings another instance writes to the same database don't hold seats here.
+ */
+@Component
+public class SeatInventory {
+
+    /**
+     * Capacity meaning "don't enforce one"; the default.
+     */
+    public static final int UNLIMITED = -1;
+
+    /**
+     * Returned by {@link #tryReserve(String)} when the flight has no seats left.
+     */
+    public static final int NO_SEAT = -1;
+
+    private final int capacity;
+    private final ToIntFunction<String> confirmedBookings;
+    private final ConcurrentHashMap<String, AtomicInteger> held = new ConcurrentHashMap<>();
+
+    /**
+     * Inventory for a store that starts empty.
+     *
+     * @param capacity Seats per flight, or {@link #UNLIMITED}.
+     */
+    public SeatInventory(int capacity) {
+        this(capacity, flightId -> 0);
+    }
+
+    @Autowired
+    public SeatInventory(
+            @Value("${acmeair.flights.capacity:" + UNLIMITED + "}") int capacity,
+            BookingRepository bookings
+    ) {
+        this(capacity, bookings::countConfirmed);
+    }
+
+    /**
+     * @param confirmedBookings Confirmed bookings already stored for a flight, read once per flight.
+     */
+    SeatInventory(int capacity, ToIntFunction<String> confirmedBookings) {
+        if (capacity < 0 && capacity != UNLIMITED) throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+        this.capacity = capacity;
+        this.confirmedBookings = confirmedBookings;
+    }
+
+    /**
+     * Starts counting the flight's seats from its stored confirmed bookings, unless it is counted already.
+     * Call this before cancelling a booking, so that a seat released by the cancellation isn't also
+     * missing from the stored count.
+     *
+     * @param flightId Flight to count.
+     */
+    public void track(String flightId) {
+        if (limited()) seats(flightId);
+    }
+
+    /**
+     * Holds one seat on the flight if any are left.
+     *
+     * @param flightId Flight to reserve on.
+     * @return Number of times the reservation lost a race and retried, or {@link #NO_SEAT} if the flight is full.
+     */
+    public int tryReserve(String flightId) {
+        if (!limited()) return 0;
+        var seats = seats(flightId);
+        int retries = 0;
+        while (true) {
+            int current = seats.get();
+            if (current >= capacity) return NO_SEAT;
+            if (seats.compareAndSet(current, current + 1)) return retries;
+            retries++;
+        }
+    }
+
+    /**
+     * Puts one seat back on general sale. Never drops below zero, so releasing a seat for a booking
+     * that was stored without a reservation is harmless.
+     *
+     * @param flightId Flight the seat belongs to.
+     */
+    public void release(String flightId) {
+        if (!limited()) return;
+        seats(flightId).updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    /**
+     * @return Seats on the flight that are neither booked nor being handed to the waitlist,
+     *         or {@code null} if capacity isn't enforced.
+     */
+    @Nullable
+    public Integer available(String flightId) {
+        return limited() ? Math.max(0, capacity - seats(flightId).get()) : null;
+    }
+
+    /**
+     * @return Seats per flight, or {@link #UNLIMITED}.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean limited() {
+        return capacity != UNLIMITED;
+    }
+
+    private AtomicInteger seats(String flightId) {
+        var seats = held.get(flightId);
+        return seats != null ? seats : held.computeIfAbsent(flightId, id -> new AtomicInteger(confirmedBookings.applyAsInt(id)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.repository.FlightRepository;
+import com.acmeair.acmeairapi.repository.FlightSeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the flight timetable off the startup path.
+ * <p>
+ * Loading starts on a background thread once all singletons exist, so the context (and the
+ * HTTP port) comes up without waiting for it. Until it finishes this indicator reports DOWN,
+ * which keeps the readiness probe ({@code /actuator/health/readiness}) failing; flight reads
+ * that arrive early wait for the load rather than seeing an empty timetable.
+ */
+@Component("timetable")
+public class TimetableLoader implements SmartInitializingSingleton, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(TimetableLoader.class);
+
+    private final FlightRepository flights;
+    private volatile Throwable failure;
+
+    public TimetableLoader(FlightRepository flights) {
+        this.flights = flights;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Thread loader = new Thread(this::load, "timetable-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        try {
+            flights.replaceAll(FlightSeed.defaultSeed());
+            log.info("Timetable loaded in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            failure = e;
+            log.error("Timetable failed to load", e);
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (flights.isLoaded()) {
+            return Health.up().build();
+        }
+        if (failure != null) {
+            return Health.down(failure).build();
+        }
+        return Health.down().withDetail("timetable", "loading").build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.WaitlistEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-flight FIFO waitlists plus a queue of seats released by cancellations.
+ * <p>
+ * Every operation is a lock-free queue offer or poll. A cancellation only records the freed seat
+ * here; {@link WaitlistPromoter} later hands it to the next waiting passenger off the request
+ * thread. So a cancellation storm queues up work instead of slowing down the cancel requests.
+ */
+@Component
+public class Waitlist {
+
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<WaitlistEntry>> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * One flight ID per seat that is still held but no longer booked.
+     */
+    private final ConcurrentLinkedQueue<String> releasedSeats = new ConcurrentLinkedQueue<>();
+
+    void add(WaitlistEntry entry) {
+        waiting.computeIfAbsent(entry.flightId(), id -> new ConcurrentLinkedQueue<>()).offer(entry);
+    }
+
+    Optional<WaitlistEntry> pollNext(String flightId) {
+        var queue = waiting.get(flightId);
+        return queue == null ? Optional.empty() : Optional.ofNullable(queue.poll());
+    }
+
+    /**
+     * @return Whether the entry was waiting (and now isn't).
+     */
+    boolean remove(String flightId, String entryId) {
+        var queue = waiting.get(flightId);
+        return queue != null && queue.removeIf(entry -> entry.id().equals(entryId));
+    }
+
+    /**
+     * Drops a flight's whole waitlist.
+     *
+     * @return Passengers that were waiting.
+     */
+    int drop(String flightId) {
+        var queue = waiting.remove(flightId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * @return Flights that have (or recently had) a waitlist.
+     */
+    Set<String> flights() {
+        return waiting.keySet();
+    }
+
+    /**
+     * @return Passengers waiting on the flight (walks the queue, so not for hot paths).
+     */
+    int waitingCount(String flightId) {
+        var queue = waiting.get(flightId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Records a seat freed on the flight for the promoter to hand on.
+     */
+    void seatReleased(String flightId) {
+        releasedSeats.offer(flightId);
+    }
+
+    /**
+     * @return Flight ID of the oldest released seat, or {@code null} if there are none.
+     */
+    String pollReleasedSeat() {
+        return releasedSeats.poll();
+    }
+}
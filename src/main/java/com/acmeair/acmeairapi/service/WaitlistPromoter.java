@@ -0,0 +1,53 @@
+package com.acmeair.acmeairapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background job that hands seats released by cancellations to waitlisted passengers.
+ * Each run promotes at most {@code acmeair.waitlist.batch-size} passengers and saves their
+ * bookings as one batch, so a large wave of cancellations is drained in steady steps.
+ * Each run first drops the waitlists of flights that have departed.
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final BookingService bookingService;
+    private final int batchSize;
+
+    public WaitlistPromoter(
+            BookingService bookingService,
+            @Value("${acmeair.waitlist.batch-size:500}") int batchSize
+    ) {
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs one promotion batch.
+     *
+     * @return Number of passengers promoted.
+     */
+    @Scheduled(
+            initialDelayString = "${acmeair.waitlist.promote-interval:PT1S}",
+            fixedDelayString = "${acmeair.waitlist.promote-interval:PT1S}"
+    )
+    public int promote() {
+        int dropped = bookingService.dropDepartedWaitlists(LocalDateTime.now());
+        if (dropped > 0) {
+            log.debug("Dropped {} waitlist entries for departed flights", dropped);
+        }
+        int promoted = bookingService.promoteWaitlisted(batchSize);
+        if (promoted > 0) {
+            log.debug("Promoted {} waitlisted passengers", promoted);
+        }
+        return promoted;
+    }
+}
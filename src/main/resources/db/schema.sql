@@ -0,0 +1,40 @@
+-- Schema for the relational (acmeair.storage=jdbc) backend.
+
+CREATE TABLE IF NOT EXISTS flights (
+    id              VARCHAR(32)  PRIMARY KEY,
+    origin          VARCHAR(16)  NOT NULL,
+    destination     VARCHAR(16)  NOT NULL,
+    -- upper-cased copies of origin/destination so case-insensitive route search can use an index
+    origin_key      VARCHAR(16)  NOT NULL,
+    destination_key VARCHAR(16)  NOT NULL,
+    departure_time  TIMESTAMP(9) NOT NULL,
+    arrival_time    TIMESTAMP(9) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_flights_route ON flights (origin_key, destination_key, departure_time);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id              VARCHAR(64)  PRIMARY KEY,
+    flight_id       VARCHAR(32)  NOT NULL,
+    passenger_name  VARCHAR(255) NOT NULL,
+    passenger_email VARCHAR(255) NOT NULL,
+    passenger_phone VARCHAR(64)  NOT NULL,
+    booked_at       TIMESTAMP(9) NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    -- optimistic concurrency: bumped by every update, checked by conditional writes
+    version         BIGINT       NOT NULL,
+    updated_at      TIMESTAMP(9) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_flight ON bookings (flight_id);
+
+-- one row per folded word of each passenger name (see PassengerNameIndex), so name-prefix search is an index range scan
+CREATE TABLE IF NOT EXISTS booking_name_words (
+    word            VARCHAR(255) NOT NULL,
+    flight_id       VARCHAR(32)  NOT NULL,
+    booking_id      VARCHAR(64)  NOT NULL,
+    PRIMARY KEY (word, booking_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_name_words_flight ON booking_name_words (flight_id, word, booking_id);
+CREATE INDEX IF NOT EXISTS idx_booking_name_words_booking ON booking_name_words (booking_id);
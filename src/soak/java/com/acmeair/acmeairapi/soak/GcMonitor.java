@@ -0,0 +1,81 @@
+package com.acmeair.acmeairapi.soak;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records every garbage collection while open, from the collectors' JMX notifications.
+ * <p>
+ * Collections are grouped by collector and reported as pauses, except for the concurrent "cycle"
+ * collectors of ZGC and Shenandoah, whose durations mostly overlap application threads.
+ */
+final class GcMonitor implements NotificationListener, AutoCloseable {
+
+    /**
+     * @param collector  Collector MXBean name, e.g. "G1 Young Generation".
+     * @param pauses     Whether the durations are stop-the-world pauses.
+     * @param count      Collections during the run.
+     * @param totalMs    Summed duration.
+     * @param maxMs      Longest single collection.
+     */
+    record CollectorStats(String collector, boolean pauses, long count, long totalMs, long maxMs) {
+        CollectorStats plus(long durationMs) {
+            return new CollectorStats(collector, pauses, count + 1, totalMs + durationMs, Math.max(maxMs, durationMs));
+        }
+    }
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final Map<String, CollectorStats> stats = new TreeMap<>();
+
+    GcMonitor() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        boolean pause = !info.getGcAction().contains("cycle");
+        long durationMs = info.getGcInfo().getDuration();
+        synchronized (stats) {
+            stats.computeIfAbsent(info.getGcName(), name -> new CollectorStats(name, pause, 0, 0, 0));
+            stats.computeIfPresent(info.getGcName(), (name, current) -> current.plus(durationMs));
+        }
+    }
+
+    /**
+     * @return Per-collector totals so far, by collector name.
+     */
+    List<CollectorStats> snapshot() {
+        synchronized (stats) {
+            return List.copyOf(stats.values());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.acmeair.acmeairapi.soak;
+
+/**
+ * Log-linear latency histogram in nanoseconds: exact below 128 ns, then 64 buckets per power of two,
+ * so any recorded value is reported within about 1.6%. Recording is allocation-free.
+ * <p>
+ * Not thread-safe. Each worker records into its own histogram, and they are {@linkplain #add merged}
+ * at the end.
+ */
+final class LatencyHistogram {
+
+    private static final int EXACT = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int BUCKETS = EXACT + (63 - 7) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile In {@code [0, 100]}.
+     * @return The highest value that falls in the same bucket as the value at {@code percentile}, or 0 when empty.
+     */
+    long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestInBucket(i), max);
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < EXACT) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - 6;
+        return EXACT + (magnitude - 7) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long highestInBucket(int index) {
+        if (index < EXACT) return index;
+        int magnitude = (index - EXACT) / SUB_BUCKETS + 7;
+        int shift = magnitude - 6;
+        long sub = (index - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
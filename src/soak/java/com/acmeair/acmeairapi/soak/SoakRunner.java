@@ -0,0 +1,299 @@
+package com.acmeair.acmeairapi.soak;
+
+import com.acmeair.acmeairapi.AcmeAirApiApplication;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.repository.FlightRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end soak run: boots the application in this JVM, swaps in a synthetic timetable, drives a
+ * fixed-duration mixed workload at it over loopback and reports throughput, latency percentiles,
+ * heap growth and GC pauses.
+ * <p>
+ * {@code ./gradlew soak} (settings are the {@code soak.*} system properties below; program arguments
+ * are passed to Spring, e.g. {@code --spring.profiles.active=jdbc}). Each run appends to a CSV history so
+ * results can be compared release to release. The process exits with status 1 if any request failed
+ * with a 5xx or I/O error.
+ */
+public final class SoakRunner {
+
+    /**
+     * Run settings, from system properties.
+     *
+     * @param label      Free-form tag for the history file, e.g. the version under test.
+     * @param seed       Seed for the timetable and every worker's operation sequence.
+     * @param timetable  Synthetic timetable shape.
+     * @param flightSkew Zipf exponent for flight hotness.
+     * @param threads    Concurrent clients.
+     * @param warmup     Load before measuring (not reported).
+     * @param duration   Measured load.
+     * @param report     CSV history to append to, if any.
+     */
+    record Settings(
+            String label,
+            long seed,
+            SyntheticTimetable.Spec timetable,
+            double flightSkew,
+            int threads,
+            Duration warmup,
+            Duration duration,
+            Path report
+    ) {
+        static Settings fromSystemProperties() {
+            long seed = Long.getLong("soak.seed", 42);
+            var report = System.getProperty("soak.report");
+            return new Settings(
+                    System.getProperty("soak.label", "local"),
+                    seed,
+                    new SyntheticTimetable.Spec(
+                            seed,
+                            Integer.getInteger("soak.airports", 3_000),
+                            Integer.getInteger("soak.legs", 1_000_000),
+                            LocalDate.parse(System.getProperty("soak.first-day", "2025-09-01")),
+                            Integer.getInteger("soak.days", 28),
+                            Double.parseDouble(System.getProperty("soak.airport-skew", "1.0"))),
+                    Double.parseDouble(System.getProperty("soak.flight-skew", "0.99")),
+                    Integer.getInteger("soak.threads", 16),
+                    Duration.parse(System.getProperty("soak.warmup", "PT30S")),
+                    Duration.parse(System.getProperty("soak.duration", "PT2M")),
+                    report == null || report.isBlank() ? null : Path.of(report));
+        }
+    }
+
+    private SoakRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        var settings = Settings.fromSystemProperties();
+        log("Generating %,d flights over %,d airports (seed %d)",
+                settings.timetable().legs(), settings.timetable().airports(), settings.seed());
+        long started = System.nanoTime();
+        List<Flight> flights = SyntheticTimetable.generate(settings.timetable());
+        log("Generated in %d ms", millis(System.nanoTime() - started));
+
+        boolean failed;
+        try (var context = boot(args)) {
+            load(context.getBean(FlightRepository.class), flights);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            failed = soak(settings, flights, "http://localhost:" + port);
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static ConfigurableApplicationContext boot(String[] args) {
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN"));
+        arguments.addAll(List.of(args)); // later arguments win
+        return SpringApplication.run(AcmeAirApiApplication.class, arguments.toArray(String[]::new));
+    }
+
+    /**
+     * Replaces the fixture timetable with the synthetic one, after the background loader has installed
+     * the fixture (otherwise it could overwrite ours).
+     */
+    private static void load(FlightRepository repository, List<Flight> flights) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        while (!repository.isLoaded()) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Fixture timetable never loaded");
+            Thread.sleep(10);
+        }
+        long started = System.nanoTime();
+        repository.replaceAll(flights);
+        log("Timetable installed in %d ms", millis(System.nanoTime() - started));
+    }
+
+    private static boolean soak(Settings settings, List<Flight> flights, String baseUrl) throws Exception {
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var workload = new SoakWorkload(client, baseUrl, flights, settings.flightSkew(), settings.seed());
+        var seeds = new SplittableRandom(settings.seed());
+
+        log("Warming up for %s with %d clients", settings.warmup(), settings.threads());
+        drive(workload, seeds, settings.threads(), settings.warmup());
+
+        long heapBefore = settledHeapUsed();
+        resetPeakHeap();
+        Map<SoakWorkload.Operation, SoakWorkload.OperationStats> results;
+        List<GcMonitor.CollectorStats> collections;
+        log("Measuring for %s", settings.duration());
+        try (var gc = new GcMonitor()) {
+            results = drive(workload, seeds, settings.threads(), settings.duration());
+            collections = gc.snapshot();
+        }
+        long peakHeap = peakHeapUsed();
+        long heapAfter = settledHeapUsed();
+
+        var report = new Report(settings, results, collections, heapBefore, heapAfter, peakHeap);
+        System.out.println(report.summary());
+        if (settings.report() != null) {
+            report.append(settings.report());
+            log("Appended to %s", settings.report());
+        }
+        return report.total().errors > 0;
+    }
+
+    /**
+     * Runs the workload on {@code threads} clients for {@code duration} and merges their results.
+     * Each client gets the next seed from {@code seeds}, so the warm-up and measured phases differ
+     * but every run sends each client the same request sequence (see {@link SoakWorkload}).
+     */
+    private static Map<SoakWorkload.Operation, SoakWorkload.OperationStats> drive(
+            SoakWorkload workload, SplittableRandom seeds, int threads, Duration duration
+    ) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Map<SoakWorkload.Operation, SoakWorkload.OperationStats>>> running = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                var random = seeds.split();
+                running.add(CompletableFuture.supplyAsync(() -> workload.run(random, deadline), clients));
+            }
+            Map<SoakWorkload.Operation, SoakWorkload.OperationStats> merged = new EnumMap<>(SoakWorkload.Operation.class);
+            for (var client : running) {
+                client.join().forEach((operation, stats) ->
+                        merged.computeIfAbsent(operation, o -> new SoakWorkload.OperationStats()).add(stats));
+            }
+            return merged;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Heap in use after a full collection, i.e. what is actually retained.
+     */
+    private static long settledHeapUsed() {
+        var memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetPeakHeap() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /**
+     * @return Sum of each heap pool's peak; an upper bound, since the pools need not peak together.
+     */
+    private static long peakHeapUsed() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println("[soak] " + String.format(Locale.ROOT, format, args));
+    }
+
+    /**
+     * Formats one run for the console and the CSV history.
+     */
+    private record Report(
+            Settings settings,
+            Map<SoakWorkload.Operation, SoakWorkload.OperationStats> results,
+            List<GcMonitor.CollectorStats> collections,
+            long heapBefore,
+            long heapAfter,
+            long peakHeap
+    ) {
+        private static final String CSV_HEADER = "timestamp,label,seed,threads,seconds,operation,requests,per_second,"
+                + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms,rejected,errors,heap_growth_mb,gc_pauses,gc_pause_total_ms,gc_pause_max_ms";
+
+        SoakWorkload.OperationStats total() {
+            var total = new SoakWorkload.OperationStats();
+            results.values().forEach(total::add);
+            return total;
+        }
+
+        String summary() {
+            var out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%n%-18s %10s %10s %9s %9s %9s %9s %9s %9s %7s%n",
+                    "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rejected", "errors"));
+            results.forEach((operation, stats) -> out.append(row(operation.name().toLowerCase(Locale.ROOT), stats)));
+            out.append(row("all", total()));
+
+            out.append(String.format(Locale.ROOT, "%nheap after GC: %.1f MB -> %.1f MB (%+.1f MB), peak %.1f MB%n",
+                    mb(heapBefore), mb(heapAfter), mb(heapAfter - heapBefore), mb(peakHeap)));
+            for (var collector : collections) {
+                out.append(String.format(Locale.ROOT, "%s: %d %s, total %d ms, max %d ms%n",
+                        collector.collector(), collector.count(), collector.pauses() ? "pauses" : "concurrent cycles",
+                        collector.totalMs(), collector.maxMs()));
+            }
+            return out.toString();
+        }
+
+        void append(Path file) throws IOException {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            var lines = new StringBuilder();
+            if (Files.notExists(file)) lines.append(CSV_HEADER).append('\n');
+            var timestamp = Instant.now();
+            results.forEach((operation, stats) -> lines.append(csv(timestamp, operation.name().toLowerCase(Locale.ROOT), stats)));
+            lines.append(csv(timestamp, "all", total()));
+            Files.writeString(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        private String row(String name, SoakWorkload.OperationStats stats) {
+            var latency = stats.latency;
+            return String.format(Locale.ROOT, "%-18s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %7d%n",
+                    name, latency.count(), perSecond(latency.count()),
+                    ms(latency.percentile(50)), ms(latency.percentile(90)), ms(latency.percentile(99)),
+                    ms(latency.percentile(99.9)), ms(latency.max()), stats.rejected, stats.errors);
+        }
+
+        private String csv(Instant timestamp, String name, SoakWorkload.OperationStats stats) {
+            var latency = stats.latency;
+            var pauses = collections.stream().filter(GcMonitor.CollectorStats::pauses).toList();
+            return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%s,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%.1f,%d,%d,%d%n",
+                    timestamp, settings.label(), settings.seed(), settings.threads(), settings.duration().toSeconds(),
+                    name, latency.count(), perSecond(latency.count()),
+                    ms(latency.percentile(50)), ms(latency.percentile(90)), ms(latency.percentile(99)),
+                    ms(latency.percentile(99.9)), ms(latency.max()), stats.rejected, stats.errors,
+                    mb(heapAfter - heapBefore),
+                    pauses.stream().mapToLong(GcMonitor.CollectorStats::count).sum(),
+                    pauses.stream().mapToLong(GcMonitor.CollectorStats::totalMs).sum(),
+                    pauses.stream().mapToLong(GcMonitor.CollectorStats::maxMs).max().orElse(0));
+        }
+
+        private double perSecond(long requests) {
+            return requests / (settings.duration().toNanos() / 1e9);
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1e6;
+        }
+
+        private static double mb(long bytes) {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.acmeair.acmeairapi.soak;
+
+import com.acmeair.acmeairapi.domain.Flight;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Mixed booking and search traffic against a running instance.
+ * <p>
+ * Flights are picked by a Zipfian hotness, so a small set of flights (and therefore routes) takes most of
+ * the searches and bookings. Each worker reads, updates and cancels only bookings it created itself, picked
+ * by the order it created them in. Every worker draws from its own seeded random source and shares nothing
+ * with the others, so each one issues the same sequence of requests on every run (a run only stops at a
+ * different point in it). Responses can still differ, e.g. a booking refused because another worker filled
+ * the flight is then targeted under an ID that doesn't exist, and answered with 404.
+ */
+final class SoakWorkload {
+
+    /**
+     * @param weight Relative share of the traffic.
+     */
+    enum Operation {
+        SEARCH(35),
+        GET_FLIGHT(10),
+        CREATE_BOOKING(25),
+        GET_BOOKING(15),
+        UPDATE_PASSENGER(10),
+        CANCEL_BOOKING(5);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Outcomes and latencies of one operation type.
+     * {@code rejected} counts expected refusals (404 for an unknown route, 409 for a full flight, 412).
+     */
+    static final class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        long ok;
+        long rejected;
+        long errors;
+
+        void add(OperationStats other) {
+            latency.add(other.latency);
+            ok += other.ok;
+            rejected += other.rejected;
+            errors += other.errors;
+        }
+    }
+
+    private static final String[] FIRST_NAMES = {
+            "Aroha", "Ben", "Chloe", "Daniel", "Ella", "Finn", "Grace", "Hemi", "Isla", "Jack",
+            "Kiri", "Liam", "Mia", "Noah", "Olivia", "Pita", "Quinn", "Ruby", "Sam", "Tama"
+    };
+    private static final String[] LAST_NAMES = {
+            "Anderson", "Brown", "Clarke", "Davis", "Edwards", "Fraser", "Green", "Harris", "Ngata", "Jones",
+            "King", "Lee", "Martin", "Nguyen", "O'Brien", "Parata", "Robinson", "Smith", "Taylor", "Walker"
+    };
+    private static final int OWN_BOOKINGS = 1 << 12;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<Flight> flights;
+    private final Zipf hotness;
+    private final int totalWeight;
+
+    /**
+     * The bookings one worker has tried to create, most recent {@link #OWN_BOOKINGS} kept round-robin.
+     * A refused attempt still takes a slot, so which slot a request picks depends only on the worker's own sequence.
+     */
+    private static final class OwnBookings {
+        private final String[] ids = new String[OWN_BOOKINGS];
+        private long attempts;
+
+        boolean isEmpty() {
+            return attempts == 0;
+        }
+
+        void attempted(String id) {
+            ids[(int) (attempts % OWN_BOOKINGS)] = id;
+            attempts++;
+        }
+
+        String pick(SplittableRandom random) {
+            int slot = random.nextInt((int) Math.min(attempts, OWN_BOOKINGS));
+            var id = ids[slot];
+            return id != null ? id : "refused-" + slot;
+        }
+    }
+
+    SoakWorkload(HttpClient client, String baseUrl, List<Flight> flights, double flightSkew, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.flights = flights;
+        this.hotness = new Zipf(flights.size(), flightSkew, seed);
+        int weights = 0;
+        for (Operation operation : Operation.values()) {
+            weights += operation.weight;
+        }
+        this.totalWeight = weights;
+    }
+
+    /**
+     * Issues requests back to back until {@code deadline} ({@link System#nanoTime()}).
+     *
+     * @return What happened, by operation.
+     */
+    Map<Operation, OperationStats> run(SplittableRandom random, long deadline) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        var own = new OwnBookings();
+        while (System.nanoTime() < deadline) {
+            var operation = pick(random);
+            if (operation.ordinal() > Operation.CREATE_BOOKING.ordinal() && own.isEmpty()) {
+                operation = Operation.CREATE_BOOKING; // nothing to read or change until this worker has booked
+            }
+            var request = request(operation, random, own);
+            var outcome = stats.get(operation);
+            long started = System.nanoTime();
+            try {
+                var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                outcome.latency.record(System.nanoTime() - started);
+                int status = response.statusCode();
+                if (status < 400) {
+                    outcome.ok++;
+                } else if (status < 500) {
+                    outcome.rejected++;
+                } else {
+                    outcome.errors++;
+                }
+                if (operation == Operation.CREATE_BOOKING) own.attempted(status < 400 ? bookingId(response.body()) : null);
+            } catch (IOException e) {
+                outcome.latency.record(System.nanoTime() - started);
+                outcome.errors++;
+                if (operation == Operation.CREATE_BOOKING) own.attempted(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return stats;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) return operation;
+        }
+        throw new IllegalStateException("weights changed");
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random, OwnBookings own) {
+        return switch (operation) {
+            case SEARCH -> {
+                var flight = hotFlight(random);
+                yield get("/api/flights/search?origin=" + flight.origin() + "&destination=" + flight.destination())
+                        .header("Accept-Encoding", "gzip")
+                        .build();
+            }
+            case GET_FLIGHT -> get("/api/flights/" + hotFlight(random).id()).build();
+            case CREATE_BOOKING -> json("POST", "/api/bookings",
+                    "{\"flightId\":\"" + hotFlight(random).id() + "\",\"passenger\":" + passenger(random) + "}");
+            case GET_BOOKING -> get("/api/bookings/" + own.pick(random)).build();
+            case UPDATE_PASSENGER -> json("PUT", "/api/bookings/" + own.pick(random) + "/passenger",
+                    "{\"passenger\":" + passenger(random) + "}");
+            case CANCEL_BOOKING -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/" + own.pick(random) + "/cancel"))
+                    .timeout(TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Flight hotFlight(SplittableRandom random) {
+        return flights.get(hotness.next(random));
+    }
+
+    private static String bookingId(byte[] body) {
+        // the booking serializer writes the ID first: {"id":"..."
+        var json = new String(body, StandardCharsets.UTF_8);
+        int start = json.indexOf("\"id\":\"");
+        if (start < 0) return null;
+        start += 6;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    private static String passenger(SplittableRandom random) {
+        var first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        var last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        int n = random.nextInt(1_000_000);
+        return "{\"name\":\"" + first + " " + last + "\","
+                + "\"email\":\"" + first.toLowerCase() + "." + last.toLowerCase().replace("'", "") + n + "@example.com\","
+                + "\"phone\":\"021-" + n + "\"}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.acmeair.acmeairapi.soak;
+
+import com.acmeair.acmeairapi.domain.Flight;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator for production-sized timetables.
+ * <p>
+ * Airports get a Zipfian popularity (a few hubs, a long tail of regional airports), and each leg picks
+ * its origin and destination by that popularity, so route frequency is heavily skewed toward hub pairs.
+ * The same {@link Spec} always produces the same flights, in the same order.
+ */
+final class SyntheticTimetable {
+
+    /** Three-letter codes give 26^3 distinct airports. */
+    static final int MAX_AIRPORTS = 26 * 26 * 26;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * @param seed     Random seed; the timetable is a pure function of the spec.
+     * @param airports Number of airports (at most {@link #MAX_AIRPORTS}).
+     * @param legs     Number of flights.
+     * @param firstDay First day of the schedule.
+     * @param days     Number of days the departures are spread over.
+     * @param skew     Zipf exponent for airport popularity.
+     */
+    record Spec(long seed, int airports, int legs, LocalDate firstDay, int days, double skew) {
+        Spec {
+            if (airports < 2 || airports > MAX_AIRPORTS) {
+                throw new IllegalArgumentException("airports must be between 2 and " + MAX_AIRPORTS + ": " + airports);
+            }
+            if (legs <= 0 || days <= 0) {
+                throw new IllegalArgumentException("legs and days must be positive");
+            }
+        }
+    }
+
+    private SyntheticTimetable() {}
+
+    static List<Flight> generate(Spec spec) {
+        String[] codes = new String[spec.airports()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = code(i);
+        }
+        var popularity = new Zipf(spec.airports(), spec.skew(), spec.seed());
+        var random = new SplittableRandom(spec.seed());
+        var start = spec.firstDay().atStartOfDay();
+        int idWidth = Integer.toString(spec.legs()).length();
+
+        List<Flight> flights = new ArrayList<>(spec.legs());
+        for (int leg = 0; leg < spec.legs(); leg++) {
+            int origin = popularity.next(random);
+            int destination;
+            do {
+                destination = popularity.next(random);
+            } while (destination == origin);
+
+            // departures on a 5-minute grid; block time depends only on the airport pair
+            LocalDateTime departure = start.plusMinutes(5L * random.nextInt(spec.days() * MINUTES_PER_DAY / 5));
+            LocalDateTime arrival = departure.plusMinutes(blockMinutes(origin, destination));
+            flights.add(new Flight(id(leg, idWidth), codes[origin], codes[destination], departure, arrival));
+        }
+        return flights;
+    }
+
+    /**
+     * @return 40 minutes to about 14 hours, the same in both directions.
+     */
+    static int blockMinutes(int origin, int destination) {
+        long pair = (long) Math.min(origin, destination) * MAX_AIRPORTS + Math.max(origin, destination);
+        return 40 + (int) Math.floorMod(pair * 0x9E3779B97F4A7C15L >>> 16, 800L);
+    }
+
+    private static String code(int index) {
+        return new String(new char[]{
+                (char) ('A' + index / (26 * 26)),
+                (char) ('A' + index / 26 % 26),
+                (char) ('A' + index % 26)
+        });
+    }
+
+    private static String id(int leg, int width) {
+        var digits = Integer.toString(leg);
+        return "SY" + "0".repeat(width - digits.length()) + digits;
+    }
+}
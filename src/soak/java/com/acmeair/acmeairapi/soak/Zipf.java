@@ -0,0 +1,71 @@
+package com.acmeair.acmeairapi.soak;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipfian distribution over {@code n} items: the item of popularity rank {@code k} (1-based) is drawn
+ * with probability proportional to {@code 1 / k^exponent}.
+ * <p>
+ * Ranks are assigned to items by a seeded shuffle, so the most popular items are scattered over the
+ * index range instead of being the first few. Sampling is a binary search over the cumulative
+ * distribution (one {@code double} per item). Instances are immutable and thread-safe; the caller
+ * supplies the random source.
+ */
+final class Zipf {
+
+    private final double[] cumulative;
+    private final int[] itemByRank;
+
+    /**
+     * @param n        Number of items.
+     * @param exponent Skew; 0 is uniform, about 1 is typical of request popularity.
+     * @param seed     Seed for the rank-to-item shuffle.
+     */
+    Zipf(int n, double exponent, long seed) {
+        if (n <= 0) throw new IllegalArgumentException("n must be positive: " + n);
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        itemByRank = new int[n];
+        Arrays.setAll(itemByRank, i -> i);
+        var random = new SplittableRandom(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+    }
+
+    /**
+     * @return An item index in {@code [0, n)}.
+     */
+    int next(SplittableRandom random) {
+        return itemByRank[rank(random.nextDouble())];
+    }
+
+    /**
+     * @return The item with the given 0-based popularity rank.
+     */
+    int item(int rank) {
+        return itemByRank[rank];
+    }
+
+    int size() {
+        return itemByRank.length;
+    }
+
+    private int rank(double u) {
+        int found = Arrays.binarySearch(cumulative, u);
+        int rank = found >= 0 ? found : -found - 1;
+        return Math.min(rank, cumulative.length - 1); // rounding can leave the last entry just under 1
+    }
+}
@@ -172,6 +172,127 @@ public class BookingControllerTest {
         assertThat(cancelResp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    // ---------- Optimistic concurrency tests ----------
+
+    @Test
+    @DisplayName("Conditional writes: stale If-Match -> 412 Precondition Failed, current If-Match -> 200")
+    void ifMatch_staleVersion_preconditionFailed() {
+        String createBody = """
+                {
+                  "flightId": "FL002",
+                  "passenger": {
+                    "name": "Race Condition",
+                    "email": "race@example.com",
+                    "phone": "021-444"
+                  }
+                }
+                """;
+        ResponseEntity<String> createResp = rest.postForEntity(baseUrl(), entity(createBody), String.class);
+        assertThat(createResp.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertNotNull(createResp.getBody());
+        String bookingId = extract(createResp.getBody(), "\"id\":\"", "\"");
+        String createdTag = createResp.getHeaders().getETag();
+        assertThat(createdTag).isEqualTo("\"1\"");
+
+        String updateBody = """
+                {
+                  "passenger": {
+                    "name": "First Writer",
+                    "email": "first@example.com",
+                    "phone": "021-555"
+                  }
+                }
+                """;
+        HttpEntity<?> update = entity(updateBody, createdTag);
+        ResponseEntity<String> first = rest.exchange(baseUrl() + "/" + bookingId + "/passenger", HttpMethod.PUT, update, String.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).isEqualTo("\"2\"");
+
+        // second writer still holds version 1
+        ResponseEntity<String> cancelResp = rest.exchange(
+                baseUrl() + "/" + bookingId + "/cancel", HttpMethod.POST, entity("", createdTag), String.class);
+        assertThat(cancelResp.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(cancelResp.getHeaders().getETag()).isEqualTo("\"2\"");
+        assertThat(cancelResp.getBody()).contains("\"status\":\"CONFIRMED\"");
+
+        ResponseEntity<String> retry = rest.exchange(
+                baseUrl() + "/" + bookingId + "/cancel", HttpMethod.POST, entity("", "\"2\""), String.class);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retry.getBody()).contains("\"status\":\"CANCELLED\"");
+    }
+
+    // ---------- Multi-get tests ----------
+
+    @Test
+    @DisplayName("Multi-get: found bookings in request order, missing IDs listed, fields projected")
+    void getBookings_multiGetWithProjection() {
+        String createBody = """
+                {
+                  "flightId": "FL003",
+                  "passenger": {
+                    "name": "Batch Reader",
+                    "email": "batch@example.com",
+                    "phone": "021-666"
+                  }
+                }
+                """;
+        String first = extract(rest.postForEntity(baseUrl(), entity(createBody), String.class).getBody(), "\"id\":\"", "\"");
+        String second = extract(rest.postForEntity(baseUrl(), entity(createBody), String.class).getBody(), "\"id\":\"", "\"");
+
+        ResponseEntity<String> response = rest.getForEntity(
+                baseUrl() + "?ids=" + second + ",NON_EXISTENT," + first + "&fields=id,status", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("{\"items\":["
+                + "{\"id\":\"" + second + "\",\"status\":\"CONFIRMED\"},"
+                + "{\"id\":\"" + first + "\",\"status\":\"CONFIRMED\"}"
+                + "],\"missing\":[\"NON_EXISTENT\"]}");
+    }
+
+    @Test
+    @DisplayName("Multi-get: unknown field or too many IDs -> 400 Bad Request")
+    void getBookings_invalidRequest_badRequest() {
+        ResponseEntity<String> unknownField = rest.getForEntity(baseUrl() + "?ids=A&fields=id,secret", String.class);
+        assertThat(unknownField.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        String tooMany = String.join(",", java.util.Collections.nCopies(101, "A"));
+        ResponseEntity<String> tooManyIds = rest.getForEntity(baseUrl() + "?ids=" + tooMany, String.class);
+        assertThat(tooManyIds.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    // ---------- Passenger name search tests ----------
+
+    @Test
+    @DisplayName("Search by passenger name: prefix of any name word, scoped to a flight, up to the limit")
+    void searchByPassengerName_success() {
+        for (String name : new String[]{"Wiremu Quisenberry", "Aroha Quist", "Quincy Adams"}) {
+            String body = """
+                    {"flightId": "FL002", "passenger": {"name": "%s", "email": "q@example.com", "phone": "021"}}
+                    """.formatted(name);
+            assertThat(rest.postForEntity(baseUrl(), entity(body), String.class).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+
+        ResponseEntity<String> response = rest.getForEntity(baseUrl() + "/search?name=QUIS&flightId=FL002", String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("Wiremu Quisenberry").contains("Aroha Quist").doesNotContain("Quincy");
+
+        ResponseEntity<String> limited = rest.getForEntity(baseUrl() + "/search?name=qui&flightId=FL002&limit=1", String.class);
+        assertThat(limited.getBody().split("\"passenger\"")).hasSize(2);
+
+        ResponseEntity<String> otherFlight = rest.getForEntity(baseUrl() + "/search?name=quis&flightId=FL003", String.class);
+        assertThat(otherFlight.getBody()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Search by passenger name: blank name or limit out of range -> 400 Bad Request")
+    void searchByPassengerName_invalidRequest_badRequest() {
+        assertThat(rest.getForEntity(baseUrl() + "/search?name=", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rest.getForEntity(baseUrl() + "/search?name=smi&limit=0", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rest.getForEntity(baseUrl() + "/search?name=smi&limit=101", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 
     // ---------- Helpers ----------
 
@@ -181,6 +302,13 @@ public class BookingControllerTest {
         return new HttpEntity<>(body, headers);
     }
 
+    private HttpEntity<?> entity(String body, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfMatch(ifMatch);
+        return new HttpEntity<>(body, headers);
+    }
+
     // naive extractor for tests
     private String extract(String body, String prefix, String suffix) {
         int i = body.indexOf(prefix);
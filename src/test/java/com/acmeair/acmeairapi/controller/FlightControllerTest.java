@@ -9,6 +9,15 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(
@@ -77,4 +86,85 @@ class FlightControllerTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    // ---------- Multi-get endpoint tests ----------
+
+    @Test
+    @DisplayName("Get flights by IDs: full flights in request order with missing IDs listed")
+    void getFlightsById_success() {
+        ResponseEntity<String> response = rest.getForEntity(
+                baseUrl() + "?ids=FL003,UNKNOWN,FL001",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).startsWith("{\"items\":[{\"id\":\"FL003\"");
+        assertThat(response.getBody()).contains("\"origin\":\"WLG\"");
+        assertThat(response.getBody()).endsWith("\"missing\":[\"UNKNOWN\"]}");
+    }
+
+    @Test
+    @DisplayName("Get flights by IDs: fields= returns only the requested fields")
+    void getFlightsById_projection() {
+        ResponseEntity<String> response = rest.getForEntity(
+                baseUrl() + "?ids=FL001&fields=id,departureTime",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .isEqualTo("{\"items\":[{\"id\":\"FL001\",\"departureTime\":\"2025-08-11T11:00:00\"}],\"missing\":[]}");
+    }
+
+    // ---------- Compression tests ----------
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private HttpResponse<byte[]> get(String url, String... headers) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(url));
+        if (headers.length > 0) request.headers(headers);
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Get all flights: gzip-encoded when accepted, same JSON as the identity response")
+    void getAllFlights_gzip() throws Exception {
+        var plain = get(baseUrl());
+        var gzipped = get(baseUrl(), "Accept-Encoding", "br;q=1.0, gzip;q=0.8");
+
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.statusCode()).isEqualTo(200);
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.headers().firstValue("Vary")).hasValueSatisfying(vary -> assertThat(vary).contains("Accept-Encoding"));
+        assertThat(gunzip(gzipped.body())).isEqualTo(new String(plain.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Search flights: gzip;q=0 gets the identity encoding")
+    void searchFlights_gzipRefused() throws Exception {
+        var response = get(baseUrl() + "/search?origin=WLG&destination=AKL", "Accept-Encoding", "gzip;q=0");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).contains("\"id\":\"FL001\"");
+    }
+
+    @Test
+    @DisplayName("Search flights: unchanged timetable -> 304 Not Modified for the cached ETag")
+    void searchFlights_notModified() throws Exception {
+        var url = baseUrl() + "/search?origin=WLG&destination=AKL";
+        var etag = get(url).headers().firstValue("ETag").orElseThrow();
+
+        var response = get(url, "If-None-Match", etag, "Accept-Encoding", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(304);
+        assertThat(response.body()).isEmpty();
+    }
+}
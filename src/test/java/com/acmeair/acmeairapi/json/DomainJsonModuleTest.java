@@ -0,0 +1,70 @@
+package com.acmeair.acmeairapi.json;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class DomainJsonModuleTest {
+
+    private static final List<LocalDateTime> TIMES = List.of(
+            LocalDateTime.of(2025, 8, 11, 9, 0),
+            LocalDateTime.of(2025, 8, 11, 9, 0, 5),
+            LocalDateTime.of(2025, 12, 31, 23, 59, 59, 100_000_000),
+            LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_700),
+            LocalDateTime.of(2025, 1, 2, 3, 4, 5, 1),
+            LocalDateTime.of(999, 1, 1, 0, 0),
+            LocalDateTime.of(12025, 1, 1, 0, 0)
+    );
+
+    private final ObjectMapper defaults = mapper().build();
+    private final ObjectMapper custom = mapper().addModule(new DomainJsonModule()).build();
+
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    void module_replacesReflectiveSerializers() throws Exception {
+        var provider = custom.getSerializerProviderInstance();
+        assertInstanceOf(FlightSerializer.class, provider.findValueSerializer(Flight.class));
+        assertInstanceOf(BookingSerializer.class, provider.findValueSerializer(Booking.class));
+        assertInstanceOf(PassengerSerializer.class, provider.findValueSerializer(Passenger.class));
+    }
+
+    @Test
+    void flights_matchDefaultJackson() throws Exception {
+        for (var time : TIMES) {
+            var flight = new Flight("FL001", "WLG", "AKL", time, time.plusHours(1).plusNanos(500));
+            assertEquals(defaults.writeValueAsString(flight), custom.writeValueAsString(flight));
+        }
+        var nulls = new Flight(null, "WLG", null, null, LocalDateTime.of(2025, 8, 11, 9, 0));
+        assertEquals(defaults.writeValueAsString(nulls), custom.writeValueAsString(nulls));
+    }
+
+    @Test
+    void bookings_matchDefaultJackson() throws Exception {
+        var bookings = TIMES.stream()
+                .map(time -> new Booking("s1-abc", "FL001",
+                        new Passenger("Zoë \"Q\" O'Neil", "zoe@example.com", "+64 21\n000"),
+                        time, BookingStatus.CONFIRMED, 7, time.plusSeconds(1)))
+                .toList();
+        assertEquals(defaults.writeValueAsString(bookings), custom.writeValueAsString(bookings));
+
+        var sparse = new Booking("s1-abc", "FL001", null, null, null, Booking.INITIAL_VERSION, null);
+        assertEquals(defaults.writeValueAsString(sparse), custom.writeValueAsString(sparse));
+    }
+}
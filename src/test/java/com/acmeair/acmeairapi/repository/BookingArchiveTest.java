@@ -0,0 +1,198 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private static Booking booking(InMemoryBookingRepository repo, String flightId, BookingStatus status) {
+        var bookedAt = LocalDateTime.of(2025, 8, 1, 10, 30, 15, 123_456_700);
+        return new Booking(
+                repo.newId(flightId), flightId,
+                new Passenger("Ārchived Name", "old@example.com", "021"),
+                bookedAt,
+                status,
+                Booking.INITIAL_VERSION,
+                bookedAt
+        );
+    }
+
+    @Test
+    void archivedBookings_roundTripById() {
+        var repo = new InMemoryBookingRepository();
+        var archive = new BookingArchive(dir);
+        List<Booking> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(booking(repo, "FL00" + (i % 3 + 1), i % 2 == 0 ? BookingStatus.CONFIRMED : BookingStatus.CANCELLED));
+        }
+        archive.archive(batch.subList(0, 250));
+        archive.archive(batch.subList(250, 500)); // second block per bucket
+
+        for (var booking : batch) {
+            assertEquals(booking, archive.findById(booking.id()).orElseThrow());
+        }
+        assertTrue(archive.findById("NON_EXISTENT").isEmpty());
+    }
+
+    @Test
+    void misses_inflateAlmostNoBlocks() {
+        var repo = new InMemoryBookingRepository();
+        var archive = new BookingArchive(dir);
+        List<Booking> batch = new ArrayList<>();
+        for (int block = 0; block < 20; block++) {
+            List<Booking> bookings = new ArrayList<>();
+            for (int i = 0; i < 640; i++) {
+                bookings.add(booking(repo, "FL00" + (i % 3 + 1), BookingStatus.CONFIRMED));
+            }
+            archive.archive(bookings); // about 10 bookings in each of 64 buckets
+            batch.addAll(bookings);
+        }
+
+        int misses = 1_000;
+        for (int i = 0; i < misses; i++) {
+            assertTrue(archive.findById(repo.newId("FL001")).isEmpty());
+        }
+        // merging leaves a few blocks per bucket, so a full scan would inflate thousands; the filters let through about 1%
+        assertTrue(archive.blockCount() > BookingArchive.BUCKETS);
+        assertTrue(archive.blocksInflated() < misses / 10, "inflated " + archive.blocksInflated());
+
+        long before = archive.blocksInflated();
+        var hit = batch.get(batch.size() / 2);
+        assertEquals(hit, archive.findById(hit.id()).orElseThrow());
+        assertTrue(archive.blocksInflated() - before <= 3);
+    }
+
+    @Test
+    void manySmallArchives_mergeIntoFewBlocks() {
+        var repo = new InMemoryBookingRepository();
+        var archive = new BookingArchive(dir);
+        List<Booking> archived = new ArrayList<>();
+        for (int sweep = 0; sweep < 400; sweep++) {
+            List<Booking> bookings = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                bookings.add(booking(repo, "FL00" + (i % 3 + 1), BookingStatus.CONFIRMED));
+            }
+            archive.archive(bookings); // a block in each of about 8 buckets
+            archived.addAll(bookings);
+        }
+        var updated = archived.get(10).withStatus(BookingStatus.CANCELLED);
+        archive.archive(List.of(updated));
+
+        // about 3,200 blocks (50 per bucket) without merging; log2(50) is under 6
+        assertTrue(archive.blockCount() <= BookingArchive.BUCKETS * 8, "blocks: " + archive.blockCount());
+        for (var booking : archived) {
+            assertEquals(booking.id().equals(updated.id()) ? updated : booking, archive.findById(booking.id()).orElseThrow());
+        }
+        assertEquals(updated, new BookingArchive(dir).findById(updated.id()).orElseThrow());
+    }
+
+    @Test
+    void reopenedArchive_findsBookingsWrittenBefore() {
+        var repo = new InMemoryBookingRepository();
+        var booking = booking(repo, "FL001", BookingStatus.CONFIRMED);
+        new BookingArchive(dir).archive(List.of(booking));
+
+        var reopened = new BookingArchive(dir);
+        assertEquals(booking, reopened.findById(booking.id()).orElseThrow());
+        assertTrue(reopened.findById(repo.newId("FL001")).isEmpty());
+    }
+
+    @Test
+    void mergeInterruptedBeforeItsSideFileWasComplete_leavesTheBucketAsItWas() throws Exception {
+        var repo = new InMemoryBookingRepository();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bookings.add(booking(repo, "FL001", BookingStatus.CONFIRMED));
+        }
+        new BookingArchive(dir).archive(bookings);
+        Files.write(dir.resolve("bookings-0.merge"), new byte[]{0, 0, 0}); // crashed while writing the merge
+
+        var reopened = new BookingArchive(dir);
+        assertFalse(Files.exists(dir.resolve("bookings-0.merge")));
+        for (var booking : bookings) {
+            assertEquals(booking, reopened.findById(booking.id()).orElseThrow());
+        }
+    }
+
+    @Test
+    void temporaryArchive_isPrivateAndDeletedOnClose() {
+        var repo = new InMemoryBookingRepository();
+        var booking = booking(repo, "FL001", BookingStatus.CONFIRMED);
+        var first = BookingArchive.temporary();
+        var second = BookingArchive.temporary();
+        first.archive(List.of(booking));
+
+        assertNotEquals(first.directory(), second.directory());
+        assertTrue(second.findById(booking.id()).isEmpty());
+
+        first.close();
+        second.close();
+        assertFalse(Files.exists(first.directory()));
+        assertFalse(Files.exists(second.directory()));
+    }
+
+    @Test
+    void latestArchivedVersion_wins() {
+        var repo = new InMemoryBookingRepository();
+        var archive = new BookingArchive(dir);
+        var booking = booking(repo, "FL001", BookingStatus.CONFIRMED);
+        var cancelled = booking.withStatus(BookingStatus.CANCELLED);
+
+        archive.archive(List.of(cancelled));
+        archive.archive(List.of(booking)); // stale copy appended later
+
+        assertEquals(cancelled, archive.findById(booking.id()).orElseThrow());
+    }
+
+    @Test
+    void repository_sweepsIncrementally_andReadsFallBackToArchive() {
+        var archive = new BookingArchive(dir);
+        var repo = new InMemoryBookingRepository(4, archive);
+        List<Booking> old = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            var booking = booking(repo, "FL00" + (i % 3 + 1), BookingStatus.CONFIRMED);
+            repo.save(booking);
+            old.add(booking);
+        }
+        var keep = booking(repo, "FL001", BookingStatus.CONFIRMED);
+        repo.save(keep);
+
+        int moved = 0;
+        int steps = 0;
+        while (repo.hotSize() > 1 && steps++ < 100) {
+            int step = repo.archiveExpired(b -> !b.id().equals(keep.id()), 10);
+            assertTrue(step <= 10, "a step never examines more than its budget");
+            moved += step;
+        }
+        assertEquals(100, moved);
+        assertEquals(1, repo.hotSize());
+
+        for (var booking : old) {
+            assertEquals(booking, repo.findById(booking.id()).orElseThrow());
+        }
+        var archivedOne = old.get(0);
+        assertThrows(BookingArchivedException.class,
+                () -> repo.updatePassenger(archivedOne.id(), new Passenger("B", "b@example.com", "1")));
+        assertThrows(BookingArchivedException.class, () -> repo.cancel(archivedOne.id()));
+        assertTrue(repo.cancel(keep.id()).isPresent());
+
+        long inflated = archive.blocksInflated();
+        assertTrue(repo.findById("s9-" + archivedOne.id().substring(3)).isEmpty()); // no such shard
+        assertTrue(repo.cancel("NON_EXISTENT").isEmpty());
+        assertEquals(inflated, archive.blocksInflated());
+    }
+}
@@ -0,0 +1,122 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingBookingRepositoryTest {
+
+    /**
+     * Counts reads that reach the backing store.
+     */
+    static class CountingRepository extends InMemoryBookingRepository {
+        final AtomicInteger loads = new AtomicInteger();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public Optional<Booking> findById(String id) {
+            loads.incrementAndGet();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findById(id);
+        }
+    }
+
+    private static Booking booking(BookingRepository repo, String name) {
+        return new Booking(
+                repo.newId("FL001"), "FL001",
+                new Passenger(name, "a@example.com", "021"),
+                LocalDateTime.now(),
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                LocalDateTime.now()
+        );
+    }
+
+    @Test
+    void writesAreCached_andReadsHitWithoutLoading() {
+        var store = new CountingRepository();
+        var cache = new CachingBookingRepository(store, 1_000_000, Runnable::run);
+        var booking = booking(cache, "A");
+        cache.save(booking);
+
+        assertEquals(booking, cache.findById(booking.id()).orElseThrow());
+        var updated = cache.updatePassenger(booking.id(), new Passenger("B", "b@example.com", "022")).orElseThrow();
+        assertEquals(updated, cache.findById(booking.id()).orElseThrow());
+        var cancelled = cache.cancel(booking.id()).orElseThrow();
+        assertEquals(BookingStatus.CANCELLED, cache.findById(booking.id()).orElseThrow().status());
+        assertEquals(cancelled, store.getAllBookings().get(0));
+
+        assertEquals(0, store.loads.get());
+        assertEquals(3, cache.stats().hits());
+    }
+
+    @Test
+    void concurrentMisses_forSameId_loadOnce() throws Exception {
+        var store = new CountingRepository();
+        var booking = booking(store, "A");
+        store.save(booking);
+        var cache = new CachingBookingRepository(store, 1_000_000, Runnable::run);
+
+        store.gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<Booking>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.findById(booking.id())));
+            }
+            Thread.sleep(100); // let every reader pile up behind the first load
+            store.gate.countDown();
+            for (var result : results) {
+                assertEquals(booking, result.get(5, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, store.loads.get());
+    }
+
+    @Test
+    void sizeBoundIsInBytes_andEvictionsAreReported() {
+        var store = new InMemoryBookingRepository();
+        var sample = booking(store, "A");
+        int entryBytes = CachingBookingRepository.estimateBytes(sample.id(), sample);
+        var cache = new CachingBookingRepository(store, entryBytes * 10L, Runnable::run);
+
+        for (int i = 0; i < 100; i++) {
+            cache.save(booking(store, "A"));
+        }
+        cache.cleanUp();
+
+        var stats = cache.stats();
+        assertTrue(stats.estimatedBytes() <= stats.maxBytes());
+        assertTrue(stats.evictions() >= 90, "evictions: " + stats.evictions());
+        assertEquals(100, store.getAllBookings().size());
+    }
+
+    @Test
+    void unknownIds_areNotCached() {
+        var store = new CountingRepository();
+        var cache = new CachingBookingRepository(store, 1_000_000, Runnable::run);
+        assertTrue(cache.findById("NON_EXISTENT").isEmpty());
+        assertTrue(cache.findById("NON_EXISTENT").isEmpty());
+        assertEquals(2, store.loads.get());
+    }
+}
@@ -0,0 +1,262 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryBookingRepositoryTest {
+
+    private static Booking booking(InMemoryBookingRepository repo, String flightId) {
+        return booking(repo, flightId, "A");
+    }
+
+    private static Booking booking(InMemoryBookingRepository repo, String flightId, String name) {
+        return new Booking(
+                repo.newId(flightId), flightId,
+                new Passenger(name, "a@example.com", "021"),
+                LocalDateTime.now(),
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                LocalDateTime.now()
+        );
+    }
+
+    @Test
+    void bookingsForSameFlight_landOnSameShard() {
+        var repo = new InMemoryBookingRepository(8);
+        var first = booking(repo, "FL001");
+        var second = booking(repo, "FL001");
+        repo.save(first);
+        repo.save(second);
+
+        var owner = repo.shardForFlight("FL001");
+        assertSame(owner, repo.shardForBooking(first.id()).orElseThrow());
+        assertSame(owner, repo.shardForBooking(second.id()).orElseThrow());
+        assertEquals(first, repo.findById(first.id()).orElseThrow());
+    }
+
+    @Test
+    void flightsSpreadAcrossShards() {
+        var repo = new InMemoryBookingRepository(4);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            used.add(repo.shardForFlight("FL" + i).index());
+        }
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    void idsRouteDirectlyToOwner_forUpdateAndCancel() {
+        var repo = new InMemoryBookingRepository(4);
+        var booking = booking(repo, "FL002");
+        repo.save(booking);
+
+        var updated = repo.updatePassenger(booking.id(), new Passenger("B", "b@example.com", "022")).orElseThrow();
+        assertEquals("B", updated.passenger().name());
+
+        var cancelled = repo.cancel(booking.id()).orElseThrow();
+        assertEquals(BookingStatus.CANCELLED, cancelled.status());
+        assertEquals(1, repo.getAllBookings().size());
+    }
+
+    @Test
+    void malformedIds_ownNothing() {
+        var repo = new InMemoryBookingRepository(4);
+        assertTrue(repo.findById("NON_EXISTENT").isEmpty());
+        assertTrue(repo.findById("s-abc").isEmpty());
+        assertTrue(repo.findById("s99-abc").isEmpty());
+        assertTrue(repo.findById("47822eac-c2dc-4e03-a084-019d7a7ddb98").isEmpty());
+        assertTrue(repo.cancel("sx-abc").isEmpty());
+    }
+
+    @Test
+    void staleExpectedVersion_isRejected() {
+        var repo = new InMemoryBookingRepository(4);
+        var booking = booking(repo, "FL001");
+        repo.save(booking);
+
+        var updated = repo.updatePassenger(booking.id(), new Passenger("B", "b@example.com", "022"), booking.version()).orElseThrow();
+        assertEquals(booking.version() + 1, updated.version());
+
+        var conflict = assertThrows(BookingVersionConflictException.class,
+                () -> repo.cancel(booking.id(), booking.version()));
+        assertEquals(updated, conflict.current());
+        assertEquals(BookingStatus.CONFIRMED, repo.findById(booking.id()).orElseThrow().status());
+    }
+
+    // ---------- Passenger name search ----------
+
+    @Test
+    void findByPassengerName_matchesWordPrefixesAndFollowsUpdates() {
+        var repo = new InMemoryBookingRepository(4);
+        var john = booking(repo, "FL001", "John Smith");
+        var jane = booking(repo, "FL002", "Jane Smíthers");
+        var kate = booking(repo, "FL001", "Kate O'Brien");
+        repo.saveAll(List.of(john, jane, kate));
+
+        assertEquals(List.of(john.id(), jane.id()), ids(repo.findByPassengerName("SMI", null, 10)));
+        assertEquals(List.of(john.id()), ids(repo.findByPassengerName("smi", "FL001", 10)));
+        assertEquals(List.of(jane.id()), ids(repo.findByPassengerName("ja smi", null, 10)));
+        assertEquals(List.of(kate.id()), ids(repo.findByPassengerName("obri", null, 10)));
+        assertEquals(1, repo.findByPassengerName("smi", null, 1).size());
+        assertTrue(repo.findByPassengerName("  ", null, 10).isEmpty());
+
+        repo.updatePassenger(john.id(), new Passenger("John Taylor", "j@example.com", "021"));
+        assertEquals(List.of(jane.id()), ids(repo.findByPassengerName("smi", null, 10)));
+        assertEquals(List.of(john.id()), ids(repo.findByPassengerName("tay", "FL001", 10)));
+    }
+
+    @Test
+    void findByPassengerName_agreesWithLinearScan() {
+        var repo = new InMemoryBookingRepository(4);
+        var scan = new ScanningBookingRepository(repo);
+        String[] first = {"Ann", "Anna", "Andrew", "Ben", "Bea"};
+        String[] last = {"Smith", "Smythe", "Jones", "Johnson", "Brown"};
+        var random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            repo.save(booking(repo, "FL00" + random.nextInt(4),
+                    first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)]));
+        }
+
+        for (var query : List.of("a", "an", "ann", "sm", "smy", "jo", "b", "ann s", "zzz")) {
+            for (var flight : Arrays.asList(null, "FL002")) {
+                assertEquals(ids(scan.findByPassengerName(query, flight, 50)), ids(repo.findByPassengerName(query, flight, 50)),
+                        query + " on " + flight);
+            }
+        }
+    }
+
+    @Test
+    void concurrentNameChanges_leaveIndexMatchingCurrentNames() throws Exception {
+        var repo = new InMemoryBookingRepository(4);
+        var ids = saveBookings(repo, 8);
+
+        hammer(() -> {
+            var random = ThreadLocalRandom.current();
+            repo.updatePassenger(ids.get(random.nextInt(ids.size())),
+                    new Passenger("P" + random.nextInt(100) + " Q" + random.nextInt(100), "p@example.com", "021"));
+        });
+
+        for (var id : ids) {
+            var booking = repo.findById(id).orElseThrow();
+            assertTrue(ids(repo.findByPassengerName(booking.passenger().name(), booking.flightId(), 100)).contains(id), id);
+        }
+        assertEquals(Set.copyOf(ids), Set.copyOf(ids(repo.findByPassengerName("p", null, 100))));
+    }
+
+    private static List<String> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::id).toList();
+    }
+
+    // ---------- Concurrency stress ----------
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 5_000;
+
+    @Test
+    void concurrentEditsAndCancels_neverResurrectCancelledBooking() throws Exception {
+        var repo = new InMemoryBookingRepository(4);
+        var ids = saveBookings(repo, 8);
+        Set<String> cancelled = ConcurrentHashMap.newKeySet();
+        var edits = new AtomicLong();
+
+        hammer(() -> {
+            var random = ThreadLocalRandom.current();
+            var id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(50) == 0) {
+                repo.cancel(id);
+                cancelled.add(id);
+            } else {
+                repo.updatePassenger(id, new Passenger("P" + random.nextInt(), "p@example.com", "021"));
+                edits.incrementAndGet();
+            }
+        });
+
+        long versionsGained = 0;
+        for (var id : ids) {
+            var booking = repo.findById(id).orElseThrow();
+            assertEquals(cancelled.contains(id), booking.status() == BookingStatus.CANCELLED, id);
+            versionsGained += booking.version() - Booking.INITIAL_VERSION;
+        }
+        // each edit and each first cancel is one version bump; nothing got overwritten
+        assertEquals(edits.get() + cancelled.size(), versionsGained);
+    }
+
+    @Test
+    void conditionalUpdates_loseNoWrites() throws Exception {
+        var repo = new InMemoryBookingRepository(4);
+        var ids = saveBookings(repo, 4);
+        var successes = new AtomicLong();
+        var conflicts = new AtomicLong();
+
+        hammer(() -> {
+            var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            var seen = repo.findById(id).orElseThrow();
+            try {
+                repo.updatePassenger(id, new Passenger("P", "p@example.com", "021"), seen.version());
+                successes.incrementAndGet();
+            } catch (BookingVersionConflictException e) {
+                conflicts.incrementAndGet();
+                assertTrue(e.current().version() > seen.version());
+            }
+        });
+
+        long versionsGained = ids.stream()
+                .mapToLong(id -> repo.findById(id).orElseThrow().version() - Booking.INITIAL_VERSION)
+                .sum();
+        assertEquals(successes.get(), versionsGained, "every successful write is reflected exactly once");
+        assertEquals((long) THREADS * OPS_PER_THREAD, successes.get() + conflicts.get());
+    }
+
+    private static List<String> saveBookings(InMemoryBookingRepository repo, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            var booking = booking(repo, "FL00" + (i % 3 + 1));
+            repo.save(booking);
+            ids.add(booking.id());
+        }
+        return ids;
+    }
+
+    private static void hammer(Runnable op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        op.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
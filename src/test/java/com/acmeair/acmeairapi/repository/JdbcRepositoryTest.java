@@ -0,0 +1,174 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Passenger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRepositoryTest {
+
+    private EmbeddedDatabase db;
+    private JdbcFlightRepository flights;
+    private JdbcBookingRepository bookings;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/schema.sql")
+                .build();
+        var jdbc = new JdbcTemplate(db);
+        flights = new JdbcFlightRepository(jdbc, new TransactionTemplate(new DataSourceTransactionManager(db)));
+        flights.init();
+        bookings = new JdbcBookingRepository(jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    private Booking booking(String flightId, String name) {
+        return new Booking(
+                bookings.newId(flightId), flightId,
+                new Passenger(name, name.toLowerCase() + "@example.com", "021"),
+                LocalDateTime.now(),
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                LocalDateTime.now()
+        );
+    }
+
+    @Test
+    void search_isCaseInsensitiveAndSorted() {
+        var results = flights.search("wlg", "akl");
+        assertEquals(1, results.size());
+        assertEquals("FL001", results.get(0).id());
+        assertTrue(flights.findById("FL002").isPresent());
+        assertEquals(3, flights.findAll().size());
+    }
+
+    @Test
+    void findAllById_resolvesInOneQuery() {
+        var first = booking("FL001", "Alex");
+        var second = booking("FL002", "Sam");
+        bookings.saveAll(List.of(first, second));
+
+        var found = bookings.findAllById(List.of(second.id(), "NON_EXISTENT", first.id(), second.id()));
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(first, second)));
+        assertTrue(bookings.findAllById(List.of()).isEmpty());
+
+        assertEquals(2, flights.findAllById(List.of("FL003", "FL001", "UNKNOWN")).size());
+    }
+
+    @Test
+    void save_findUpdateCancel_roundTrip() {
+        var booking = booking("FL001", "Alex");
+        bookings.save(booking);
+        assertEquals(booking, bookings.findById(booking.id()).orElseThrow());
+
+        var updated = bookings.updatePassenger(booking.id(), new Passenger("Sam", "sam@example.com", "022")).orElseThrow();
+        assertEquals("Sam", updated.passenger().name());
+        assertEquals(BookingStatus.CONFIRMED, updated.status());
+
+        assertEquals(BookingStatus.CANCELLED, bookings.cancel(booking.id()).orElseThrow().status());
+        assertEquals(BookingStatus.CANCELLED, bookings.cancel(booking.id()).orElseThrow().status());
+    }
+
+    @Test
+    void conditionalWrites_checkVersionInTheDatabase() {
+        var booking = booking("FL001", "Alex");
+        bookings.save(booking);
+
+        var updated = bookings.updatePassenger(booking.id(), new Passenger("Sam", "sam@example.com", "022"), booking.version()).orElseThrow();
+        assertEquals(booking.version() + 1, updated.version());
+
+        assertThrows(BookingVersionConflictException.class,
+                () -> bookings.updatePassenger(booking.id(), new Passenger("Kim", "kim@example.com", "023"), booking.version()));
+        assertThrows(BookingVersionConflictException.class,
+                () -> bookings.cancel(booking.id(), booking.version()));
+
+        var cancelled = bookings.cancel(booking.id(), updated.version()).orElseThrow();
+        assertEquals(BookingStatus.CANCELLED, cancelled.status());
+        assertEquals("Sam", cancelled.passenger().name());
+    }
+
+    @Test
+    void countConfirmed_countsOneFlightsConfirmedBookings() {
+        var kept = booking("FL001", "Alex");
+        var cancelled = booking("FL001", "Sam");
+        bookings.saveAll(List.of(kept, cancelled, booking("FL002", "Kim")));
+        bookings.cancel(cancelled.id());
+
+        assertEquals(1, bookings.countConfirmed("FL001"));
+        assertEquals(1, bookings.countConfirmed("FL002"));
+        assertEquals(0, bookings.countConfirmed("FL003"));
+    }
+
+    @Test
+    void missingBooking_isEmpty() {
+        assertTrue(bookings.findById("NON_EXISTENT").isEmpty());
+        assertTrue(bookings.updatePassenger("NON_EXISTENT", new Passenger("A", "a@example.com", "1")).isEmpty());
+        assertTrue(bookings.cancel("NON_EXISTENT").isEmpty());
+    }
+
+    @Test
+    void saveAll_writesAcrossSeveralBatches() {
+        List<Booking> batch = new ArrayList<>();
+        for (int i = 0; i < JdbcBookingRepository.BATCH_SIZE * 2 + 7; i++) {
+            batch.add(booking("FL002", "P" + i));
+        }
+        bookings.saveAll(batch);
+        assertEquals(batch.size(), bookings.getAllBookings().size());
+    }
+
+    @Test
+    void findByPassengerName_usesNameWordsAndFollowsUpdates() {
+        var john = booking("FL001", "John Smith");
+        var jane = booking("FL002", "Jane Smíthers");
+        bookings.saveAll(List.of(john, jane));
+        bookings.save(booking("FL001", "Kate O'Brien"));
+
+        assertEquals(List.of(john.id(), jane.id()),
+                bookings.findByPassengerName("SMI", null, 10).stream().map(Booking::id).toList());
+        assertEquals(List.of(john.id()),
+                bookings.findByPassengerName("smi", "FL001", 10).stream().map(Booking::id).toList());
+        assertEquals(List.of(jane.id()),
+                bookings.findByPassengerName("ja smi", null, 10).stream().map(Booking::id).toList());
+        assertEquals("Kate O'Brien", bookings.findByPassengerName("obr", null, 10).get(0).passenger().name());
+        assertEquals(1, bookings.findByPassengerName("smi", null, 1).size());
+
+        bookings.updatePassenger(john.id(), new Passenger("John Taylor", "john@example.com", "021"));
+        assertEquals(List.of(jane.id()),
+                bookings.findByPassengerName("smi", null, 10).stream().map(Booking::id).toList());
+        assertEquals(List.of(john.id()),
+                bookings.findByPassengerName("tay", null, 10).stream().map(Booking::id).toList());
+    }
+
+    @Test
+    void findByPassengerName_pagesPastDuplicateWords() {
+        List<Booking> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(booking("FL002", "Sam Samuels" + i)); // "sam" and "samuels<i>" both match "sam"
+        }
+        bookings.saveAll(batch);
+
+        assertEquals(60, bookings.findByPassengerName("sam", null, 60).stream().map(Booking::id).distinct().count());
+    }
+}
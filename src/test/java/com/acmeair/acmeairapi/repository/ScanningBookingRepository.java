@@ -0,0 +1,50 @@
+package com.acmeair.acmeairapi.repository;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.Passenger;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delegates storage to another repository but keeps the interface's default queries, so
+ * {@link #findByPassengerName} scans every booking. Tests compare a backend's indexed answers against it.
+ */
+final class ScanningBookingRepository implements BookingRepository {
+
+    private final BookingRepository delegate;
+
+    ScanningBookingRepository(BookingRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save(Booking booking) {
+        delegate.save(booking);
+    }
+
+    @Override
+    public Optional<Booking> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Booking> updatePassenger(String bookingId, Passenger newPassenger, long expectedVersion) {
+        return delegate.updatePassenger(bookingId, newPassenger, expectedVersion);
+    }
+
+    @Override
+    public Optional<Booking> cancel(String bookingId, long expectedVersion) {
+        return delegate.cancel(bookingId, expectedVersion);
+    }
+
+    @Override
+    public String newId(String flightId) {
+        return delegate.newId(flightId);
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        return delegate.getAllBookings();
+    }
+}
@@ -3,8 +3,8 @@ package com.acmeair.acmeairapi.service;
 import com.acmeair.acmeairapi.domain.Booking;
 import com.acmeair.acmeairapi.domain.BookingStatus;
 import com.acmeair.acmeairapi.domain.Passenger;
-import com.acmeair.acmeairapi.repository.BookingRepository;
 import com.acmeair.acmeairapi.repository.FlightRepository;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -14,14 +14,16 @@ class BookingServiceTest {
     @Test
     void cancel_isIdempotent() {
         var flights = mock(FlightRepository.class);
-        var storage = new BookingRepository();
+        var storage = new InMemoryBookingRepository();
         var service = new BookingService(flights, storage);
 
         var booking = new Booking(
-                BookingRepository.newId(), "FL001",
+                storage.newId("FL001"), "FL001",
                 new Passenger("A", "a@example.com", "021"),
                 java.time.LocalDateTime.now(),
-                BookingStatus.CONFIRMED
+                BookingStatus.CONFIRMED,
+                Booking.INITIAL_VERSION,
+                java.time.LocalDateTime.now()
         );
         storage.save(booking);
 
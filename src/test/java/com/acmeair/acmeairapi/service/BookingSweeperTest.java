@@ -0,0 +1,64 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.Flight;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.acmeair.acmeairapi.repository.BookingArchive;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
+import com.acmeair.acmeairapi.repository.InMemoryFlightRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingSweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @TempDir
+    Path dir;
+
+    private static Booking booking(InMemoryBookingRepository repo, String flightId, BookingStatus status, LocalDateTime updatedAt) {
+        return new Booking(
+                repo.newId(flightId), flightId,
+                new Passenger("A", "a@example.com", "021"),
+                updatedAt,
+                status,
+                Booking.INITIAL_VERSION,
+                updatedAt
+        );
+    }
+
+    @Test
+    void sweep_archivesDepartedAndLongCancelled_keepsTheRest() {
+        var flights = new InMemoryFlightRepository();
+        flights.replaceAll(List.of(
+                new Flight("OLD", "WLG", "AKL", NOW.minusDays(40), NOW.minusDays(40).plusHours(1)),
+                new Flight("NEW", "WLG", "AKL", NOW.plusDays(2), NOW.plusDays(2).plusHours(1))
+        ));
+        var repo = new InMemoryBookingRepository(4, new BookingArchive(dir));
+        var departed = booking(repo, "OLD", BookingStatus.CONFIRMED, NOW.minusDays(50));
+        var upcoming = booking(repo, "NEW", BookingStatus.CONFIRMED, NOW.minusDays(50));
+        var longCancelled = booking(repo, "NEW", BookingStatus.CANCELLED, NOW.minusDays(8));
+        var justCancelled = booking(repo, "NEW", BookingStatus.CANCELLED, NOW.minusDays(1));
+        List.of(departed, upcoming, longCancelled, justCancelled).forEach(repo::save);
+
+        var sweeper = new BookingSweeper(repo, flights, Duration.ofDays(30), Duration.ofDays(7), 1000,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        assertEquals(2, sweeper.sweep());
+        assertEquals(2, repo.hotSize());
+        assertTrue(repo.getAllBookings().containsAll(List.of(upcoming, justCancelled)));
+        assertEquals(departed, repo.findById(departed.id()).orElseThrow());
+        assertEquals(longCancelled, repo.findById(longCancelled.id()).orElseThrow());
+    }
+}
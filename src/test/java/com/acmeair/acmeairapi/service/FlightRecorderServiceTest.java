@@ -0,0 +1,84 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
+import com.acmeair.acmeairapi.repository.InMemoryFlightRepository;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    @Test
+    void recording_capturesBookingAndSearchEvents() throws Exception {
+        var flights = new InMemoryFlightRepository();
+        flights.init();
+        var bookings = new BookingService(flights, new InMemoryBookingRepository());
+        var search = new FlightService(flights);
+        var recorder = new FlightRecorderService(Duration.ofMinutes(1), DataSize.ofMegabytes(16));
+
+        var info = recorder.start(Duration.ofHours(1)).orElseThrow();
+        assertEquals(Duration.ofMinutes(1), info.duration(), "duration is capped");
+        assertTrue(recorder.start(Duration.ofSeconds(10)).isEmpty(), "one recording at a time");
+
+        bookings.createBooking("FL001", new Passenger("A", "a@example.com", "021"));
+        bookings.createBooking("NOPE", new Passenger("A", "a@example.com", "021"));
+        search.searchFlights("wlg", "akl");
+        search.recordSearch("WLG", "CHC", () -> "cached listing", listing -> 3); // e.g. served from a cache
+
+        var file = recorder.stop().orElseThrow();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            var created = events.stream().filter(e -> e.getEventType().getName().equals("com.acmeair.BookingCreate")).toList();
+            assertEquals(2, created.size());
+            assertTrue(created.stream().anyMatch(e -> e.getString("flightId").equals("FL001") && e.getBoolean("flightFound")));
+            assertTrue(created.stream().anyMatch(e -> e.getString("flightId").equals("NOPE") && !e.getBoolean("flightFound")));
+
+            var searches = events.stream().filter(e -> e.getEventType().getName().equals("com.acmeair.FlightSearch")).toList();
+            assertEquals(2, searches.size());
+            assertEquals(1, searches.get(0).getInt("resultCount"));
+            assertEquals("CHC", searches.get(1).getString("destination"));
+            assertEquals(3, searches.get(1).getInt("resultCount"));
+
+            assertTrue(events.stream().noneMatch(e -> FlightRecorderService.PROCESS_METADATA_EVENTS.contains(e.getEventType().getName())),
+                    "no environment, properties or command lines in the recording");
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("jdk.GarbageCollection")
+                    || e.getEventType().getName().equals("jdk.ExecutionSample")), "the rest of the profile settings still apply");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertTrue(recorder.current().isEmpty());
+        assertTrue(recorder.stop().isEmpty());
+    }
+
+    @Test
+    void otherRecordings_skipAcmeAirEvents() throws Exception {
+        var flights = new InMemoryFlightRepository();
+        flights.init();
+        var search = new FlightService(flights);
+
+        try (var unrelated = new Recording(Configuration.getConfiguration("default"))) {
+            unrelated.start();
+            search.searchFlights("wlg", "akl");
+            unrelated.stop();
+            var file = Files.createTempFile("acmeair-test-", ".jfr");
+            try {
+                unrelated.dump(file);
+                assertTrue(RecordingFile.readAllEvents(file).stream()
+                        .noneMatch(e -> FlightRecorderService.ACME_AIR_EVENTS.contains(e.getEventType().getName())));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.acmeair.acmeairapi.service;
 
 import com.acmeair.acmeairapi.domain.Flight;
-import com.acmeair.acmeairapi.repository.FlightRepository;
+import com.acmeair.acmeairapi.repository.FlightSeed;
+import com.acmeair.acmeairapi.repository.InMemoryFlightRepository;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FlightServiceTest {
     @Test
     void search_filtersAndSorts() {
-        var storage = new FlightRepository();
+        var storage = new InMemoryFlightRepository();
         storage.init();
         var service = new FlightService(storage);
 
@@ -22,4 +28,32 @@ class FlightServiceTest {
         var times = results.stream().map(Flight::departureTime).toList();
         assertTrue(java.util.stream.IntStream.range(1, times.size()).noneMatch(i -> times.get(i).isBefore(times.get(i-1))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_beforeTimetableLoads_waitsForIt() throws Exception {
+        var storage = new InMemoryFlightRepository();
+        var service = new FlightService(storage);
+
+        var pending = CompletableFuture.supplyAsync(() -> service.searchFlights("WLG", "AKL"));
+        Thread.sleep(50);
+        assertFalse(pending.isDone());
+        assertFalse(storage.isLoaded());
+
+        new TimetableLoader(storage).load();
+
+        assertTrue(storage.isLoaded());
+        assertEquals(1, pending.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void timetableVersion_changesWhenFlightsAreReplaced() {
+        var storage = new InMemoryFlightRepository();
+        storage.init();
+        var service = new FlightService(storage);
+
+        long before = service.timetableVersion();
+        storage.replaceAll(FlightSeed.defaultSeed());
+
+        assertNotEquals(before, service.timetableVersion());
+    }
+}
@@ -0,0 +1,213 @@
+package com.acmeair.acmeairapi.service;
+
+import com.acmeair.acmeairapi.domain.Booking;
+import com.acmeair.acmeairapi.domain.BookingStatus;
+import com.acmeair.acmeairapi.domain.BookingStatusChangedEvent;
+import com.acmeair.acmeairapi.domain.Passenger;
+import com.acmeair.acmeairapi.repository.InMemoryBookingRepository;
+import com.acmeair.acmeairapi.repository.InMemoryFlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistPromotionTest {
+
+    private InMemoryBookingRepository bookings;
+    private ConcurrentLinkedQueue<BookingStatusChangedEvent> published;
+
+    @BeforeEach
+    void setUp() {
+        bookings = new InMemoryBookingRepository();
+        published = new ConcurrentLinkedQueue<>();
+    }
+
+    private BookingService service(int capacity) {
+        var flights = new InMemoryFlightRepository();
+        flights.init();
+        return new BookingService(flights, bookings, new SeatInventory(capacity), new Waitlist(),
+                event -> published.add((BookingStatusChangedEvent) event));
+    }
+
+    private static Passenger passenger(int i) {
+        return new Passenger("P" + i, "p" + i + "@example.com", "021-" + i);
+    }
+
+    @Test
+    void fullFlight_waitlistedPassengerIsPromotedOnCancel() {
+        var service = service(1);
+        var first = service.createBooking("FL001", passenger(1)).orElseThrow();
+        assertThrows(FlightFullException.class, () -> service.createBooking("FL001", passenger(2)));
+
+        var entry = service.joinWaitlist("FL001", passenger(2)).orElseThrow();
+        assertEquals(new BookingService.WaitlistStatus("FL001", 0, 1), service.waitlistStatus("FL001").orElseThrow());
+
+        var cancelled = service.cancel(first.id()).orElseThrow();
+        // seat is held for the waitlist, not put back on sale
+        assertThrows(FlightFullException.class, () -> service.createBooking("FL001", passenger(3)));
+        assertEquals(0, bookings.getAllBookings().stream().filter(b -> b.passenger().equals(entry.passenger())).count());
+
+        assertEquals(1, service.promoteWaitlisted(10));
+        var promoted = bookings.getAllBookings().stream()
+                .filter(b -> b.passenger().equals(entry.passenger()))
+                .findFirst().orElseThrow();
+        assertEquals(BookingStatus.CONFIRMED, promoted.status());
+        assertEquals(List.of(
+                new BookingStatusChangedEvent(cancelled, BookingStatus.CONFIRMED),
+                new BookingStatusChangedEvent(promoted, BookingStatus.WAITLISTED)
+        ), List.copyOf(published));
+
+        // re-cancelling releases nothing more
+        service.cancel(first.id());
+        assertEquals(0, service.promoteWaitlisted(10));
+        assertEquals(0, service.waitlistStatus("FL001").orElseThrow().seatsAvailable());
+    }
+
+    @Test
+    void releasedSeat_withNobodyWaiting_goesBackOnSale() {
+        var service = service(1);
+        var booking = service.createBooking("FL001", passenger(1)).orElseThrow();
+        service.cancel(booking.id());
+
+        assertEquals(0, service.promoteWaitlisted(10));
+        assertTrue(service.createBooking("FL001", passenger(2)).isPresent());
+    }
+
+    @Test
+    void joiningWithSeatFree_isPromotedOnNextRun() {
+        var service = service(1);
+        service.joinWaitlist("FL001", passenger(1)).orElseThrow();
+        assertEquals(1, service.promoteWaitlisted(10));
+        assertEquals(1, bookings.getAllBookings().size());
+        assertTrue(service.joinWaitlist("UNKNOWN", passenger(2)).isEmpty());
+    }
+
+    @Test
+    void waitingPassengers_doNotBlockFreeSeats() {
+        var service = service(3);
+        service.createBooking("FL001", passenger(1)).orElseThrow();
+        service.joinWaitlist("FL001", passenger(2)).orElseThrow(); // takes a free seat for the next promotion
+
+        service.createBooking("FL001", passenger(3)).orElseThrow();
+        assertThrows(FlightFullException.class, () -> service.createBooking("FL001", passenger(4)));
+        assertEquals(1, service.promoteWaitlisted(10));
+        assertEquals(3, bookings.getAllBookings().size());
+    }
+
+    @Test
+    void leavingWaitlist_putsTheSeatBackOnSale() {
+        var service = service(1);
+        var first = service.createBooking("FL001", passenger(1)).orElseThrow();
+        var entry = service.joinWaitlist("FL001", passenger(2)).orElseThrow();
+
+        assertTrue(service.leaveWaitlist("FL001", entry.id()));
+        assertFalse(service.leaveWaitlist("FL001", entry.id()));
+        assertEquals(0, service.waitlistStatus("FL001").orElseThrow().waiting());
+
+        service.cancel(first.id());
+        assertEquals(0, service.promoteWaitlisted(10));
+        service.createBooking("FL001", passenger(3)).orElseThrow();
+    }
+
+    @Test
+    void departedFlights_loseTheirWaitlists() {
+        var service = service(0);
+        service.joinWaitlist("FL001", passenger(1)).orElseThrow();
+        service.joinWaitlist("FL002", passenger(2)).orElseThrow();
+        // FL001 departs 11:00, FL002 13:00
+        var noon = LocalDateTime.of(2025, 8, 11, 12, 0);
+
+        assertEquals(1, service.dropDepartedWaitlists(noon));
+        assertEquals(0, service.waitlistStatus("FL001").orElseThrow().waiting());
+        assertEquals(1, service.waitlistStatus("FL002").orElseThrow().waiting());
+        assertEquals(0, service.dropDepartedWaitlists(noon));
+    }
+
+    @Test
+    void cancellationStorm_promotesEveryWaitlistedPassengerOnce() throws Exception {
+        int seats = 2_000;
+        var service = service(seats);
+        List<Booking> confirmed = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            confirmed.add(service.createBooking("FL002", passenger(i)).orElseThrow());
+        }
+        for (int i = 0; i < seats; i++) {
+            service.joinWaitlist("FL002", passenger(seats + i)).orElseThrow();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        var start = new CountDownLatch(1);
+        try {
+            for (var booking : confirmed) {
+                pool.submit(() -> {
+                    start.await();
+                    service.cancel(booking.id()); // every booking cancelled twice, concurrently
+                    return service.cancel(booking.id());
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int promoted = 0;
+        int runs = 0;
+        int step;
+        while ((step = service.promoteWaitlisted(300)) > 0) {
+            assertTrue(step <= 300);
+            promoted += step;
+            runs++;
+        }
+        assertEquals(seats, promoted);
+        assertTrue(runs >= seats / 300);
+
+        var status = service.waitlistStatus("FL002").orElseThrow();
+        assertEquals(0, status.waiting());
+        assertEquals(0, status.seatsAvailable());
+        assertEquals(seats, bookings.getAllBookings().stream().filter(b -> b.status() == BookingStatus.CONFIRMED).count());
+        assertEquals(seats, published.stream().filter(e -> e.previousStatus() == BookingStatus.WAITLISTED).count());
+        assertEquals(seats, published.stream().filter(e -> e.previousStatus() == BookingStatus.CONFIRMED).count());
+    }
+
+    @Test
+    void unsetCapacity_neverRefusesABooking() {
+        var service = service(SeatInventory.UNLIMITED);
+        for (int i = 0; i < 500; i++) {
+            service.createBooking("FL001", passenger(i)).orElseThrow();
+        }
+        assertNull(service.waitlistStatus("FL001").orElseThrow().seatsAvailable());
+        assertThrows(IllegalArgumentException.class, () -> new SeatInventory(-2));
+    }
+
+    @Test
+    void restartedInventory_countsStoredConfirmedBookings() {
+        var before = service(2);
+        var first = before.createBooking("FL001", passenger(1)).orElseThrow();
+        before.createBooking("FL001", passenger(2)).orElseThrow();
+
+        // a new process over the same store: seats sold earlier are still taken
+        var flights = new InMemoryFlightRepository();
+        flights.init();
+        var after = new BookingService(flights, bookings, new SeatInventory(2, bookings), new Waitlist(), event -> {});
+        assertThrows(FlightFullException.class, () -> after.createBooking("FL001", passenger(3)));
+
+        // the cancel is the flight's first touch in a fresh process; its seat is freed exactly once
+        var restarted = new BookingService(flights, bookings, new SeatInventory(2, bookings), new Waitlist(), event -> {});
+        restarted.cancel(first.id());
+        assertEquals(0, restarted.promoteWaitlisted(10));
+        assertEquals(1, restarted.waitlistStatus("FL001").orElseThrow().seatsAvailable());
+        restarted.createBooking("FL001", passenger(4)).orElseThrow();
+        assertThrows(FlightFullException.class, () -> restarted.createBooking("FL001", passenger(5)));
+    }
+}